@@ -3,12 +3,16 @@ package org.jenkinsci.plugins.ibmisteps.configuration;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import hudson.Extension;
 import hudson.ExtensionList;
+import hudson.Util;
 import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.ibmisteps.Messages;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.StaplerRequest2;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
@@ -19,6 +23,8 @@ public class IBMiGlobalConfiguration extends GlobalConfiguration {
 	private static final Logger LOGGER = Logger.getLogger(IBMiGlobalConfiguration.class.getName());
 
 	private List<IBMiServerConfiguration> servers = Collections.emptyList();
+	private String buildCacheDirectory;
+	private int buildCacheMaxSize = 2048;
 
 	@DataBoundConstructor
 	public IBMiGlobalConfiguration() {
@@ -46,6 +52,39 @@ public class IBMiGlobalConfiguration extends GlobalConfiguration {
 		save();
 	}
 
+	@CheckForNull
+	public String getBuildCacheDirectory() {
+		return buildCacheDirectory;
+	}
+
+	@DataBoundSetter
+	public void setBuildCacheDirectory(final String buildCacheDirectory) {
+		this.buildCacheDirectory = Util.fixEmptyAndTrim(buildCacheDirectory);
+		save();
+	}
+
+	/**
+	 * @return the maximum size of the build cache, in MB
+	 */
+	public int getBuildCacheMaxSize() {
+		return buildCacheMaxSize;
+	}
+
+	@DataBoundSetter
+	public void setBuildCacheMaxSize(final int buildCacheMaxSize) {
+		this.buildCacheMaxSize = Math.max(0, buildCacheMaxSize);
+		save();
+	}
+
+	/**
+	 * @return the build cache folder on the controller: the configured one or <code>ibmi-build-cache</code> in the
+	 * Jenkins home folder
+	 */
+	public File getBuildCacheFolder() {
+		return buildCacheDirectory != null ? new File(buildCacheDirectory) :
+				new File(Jenkins.get().getRootDir(), "ibmi-build-cache");
+	}
+
 	@Override
 	public boolean configure(final StaplerRequest2 req, final JSONObject json) throws FormException {
 		servers.clear();
@@ -0,0 +1,52 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+/**
+ * Pause between two polls of the IBM i, doubling after each poll that found nothing new, up to a maximum.
+ */
+public class Backoff {
+	private final long minInterval;
+	private final long maxInterval;
+	private long interval;
+
+	/**
+	 * @param minInterval the first pause, in milliseconds
+	 * @param maxInterval the longest pause, in milliseconds
+	 */
+	public Backoff(final long minInterval, final long maxInterval) {
+		this.minInterval = Math.max(1, minInterval);
+		this.maxInterval = Math.max(this.minInterval, maxInterval);
+		interval = this.minInterval;
+	}
+
+	/**
+	 * Something new was found: the next pause is the shortest one.
+	 */
+	public void reset() {
+		interval = minInterval;
+	}
+
+	/**
+	 * Sleeps for the current interval, then doubles it.
+	 */
+	public void pause() throws InterruptedException {
+		Thread.sleep(next());
+	}
+
+	/**
+	 * For callers that schedule the next poll instead of sleeping.
+	 *
+	 * @return the current interval, in milliseconds, which is then doubled
+	 */
+	public long next() {
+		final long current = interval;
+		interval = Math.min(maxInterval, interval * 2);
+		return current;
+	}
+
+	/**
+	 * @return the next pause, in milliseconds
+	 */
+	public long getInterval() {
+		return interval;
+	}
+}
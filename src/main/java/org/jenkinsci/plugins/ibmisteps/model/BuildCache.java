@@ -0,0 +1,197 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.configuration.IBMiGlobalConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Save Files of built objects, kept in a folder of the controller and named after the key of the build that produced
+ * them. The least recently used entries are evicted when the folder grows beyond its maximum size.
+ */
+public class BuildCache {
+	private static final String EXTENSION = ".savf";
+	private static final Object LOCK = new Object();
+
+	private final File folder;
+	private final long maxSize;
+
+	/**
+	 * @param maxSize the maximum size of the cache, in bytes
+	 */
+	public BuildCache(final File folder, final long maxSize) {
+		this.folder = folder;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the build cache as set in the global configuration
+	 */
+	public static BuildCache get() {
+		final IBMiGlobalConfiguration configuration = IBMiGlobalConfiguration.get();
+		return new BuildCache(configuration.getBuildCacheFolder(), configuration.getBuildCacheMaxSize() * 1048576L);
+	}
+
+	/**
+	 * Computes the key of a build from its sources and its settings.
+	 *
+	 * @param workspace the workspace holding the sources
+	 * @param sources   an Ant pattern selecting the sources in the workspace
+	 * @param settings  everything else the built objects depend on: the build command, the target release...
+	 * @return the hexadecimal SHA-256 of the sources and the settings
+	 */
+	public static String key(final FilePath workspace, final String sources, final String... settings)
+			throws IOException, InterruptedException {
+		final MessageDigest digest = newDigest();
+		digest.update(workspace.act(new SourcesDigest(sources)));
+		for (final String setting : settings) {
+			digest.update((byte) 0);
+			digest.update(setting.getBytes(StandardCharsets.UTF_8));
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Resolves the special values of a target release, so the key of a build saved for <code>*CURRENT</code> differs
+	 * from one IBM i release to another.
+	 *
+	 * @return <code>VxRyMz</code> for <code>*CURRENT</code> and <code>*PRV</code>, the target release as is otherwise
+	 */
+	public static String resolveRelease(final String targetRelease, final int version, final int release,
+	                                    final int modification) {
+		return switch (targetRelease) {
+			case "*CURRENT" -> String.format("V%dR%dM%d", version, release, modification);
+			//V7R1 followed V6R1, which followed V5R4
+			case "*PRV" -> release > 1 ?
+					String.format("V%dR%dM0", version, release - 1) :
+					String.format("V%dR%dM0", version - 1, version == 7 ? 1 : 4);
+			default -> targetRelease;
+		};
+	}
+
+	/**
+	 * Looks for an entry and marks it as the most recently used one.
+	 *
+	 * @return the Save File of the entry or <code>null</code> if the key is not in the cache
+	 */
+	@CheckForNull
+	public FilePath lookup(final String key) {
+		synchronized (LOCK) {
+			final File entry = new File(folder, key + EXTENSION);
+			if (!entry.isFile()) {
+				return null;
+			}
+			entry.setLastModified(System.currentTimeMillis());
+			return new FilePath(entry);
+		}
+	}
+
+	/**
+	 * @return a new file to download an entry into, before {@link #store(FilePath, String)} is called
+	 */
+	public FilePath newEntry(final String key) throws IOException {
+		if (!folder.isDirectory() && !folder.mkdirs()) {
+			throw new IOException("Failed to create build cache folder " + folder);
+		}
+		return new FilePath(File.createTempFile(key, ".tmp", folder));
+	}
+
+	/**
+	 * Adds a file created by {@link #newEntry(String)} to the cache, then evicts the least recently used entries while
+	 * the cache is too big.
+	 *
+	 * @return the evicted keys
+	 */
+	public List<String> store(final FilePath file, final String key) throws IOException {
+		final File entry = new File(folder, key + EXTENSION);
+		synchronized (LOCK) {
+			Files.move(new File(file.getRemote()).toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+
+			final File[] entries = folder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+			if (entries == null) {
+				return List.of();
+			}
+			Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+			long size = Arrays.stream(entries).mapToLong(File::length).sum();
+			final List<String> evicted = new ArrayList<>();
+			for (final File oldest : entries) {
+				if (size <= maxSize) {
+					break;
+				}
+				final long length = oldest.length();
+				if (!oldest.equals(entry) && oldest.delete()) {
+					size -= length;
+					evicted.add(oldest.getName().substring(0, oldest.getName().length() - EXTENSION.length()));
+				}
+			}
+			return evicted;
+		}
+	}
+
+	private static MessageDigest newDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Digests the path and the content of every source file, in a single call to the agent holding the workspace.
+	 */
+	private static final class SourcesDigest extends MasterToSlaveFileCallable<byte[]> {
+		@Serial
+		private static final long serialVersionUID = 5062916433183709451L;
+
+		private final String sources;
+
+		private SourcesDigest(final String sources) {
+			this.sources = sources;
+		}
+
+		@Override
+		public byte[] invoke(final File workspace, final VirtualChannel channel) throws IOException {
+			final String[] files = Util.createFileSet(workspace, sources).getDirectoryScanner().getIncludedFiles();
+			if (files.length == 0) {
+				throw new AbortException(Messages.BuildCache_no_sources(sources));
+			}
+			Arrays.sort(files);
+
+			final MessageDigest digest = newDigest();
+			final byte[] buffer = new byte[65536];
+			for (final String file : files) {
+				final File source = new File(workspace, file);
+				//The length keeps the boundary between a file content and the next file path unambiguous
+				digest.update(String.format("%s\0%d\0", file.replace('\\', '/'), source.length())
+						.getBytes(StandardCharsets.UTF_8));
+				try (InputStream input = Files.newInputStream(source.toPath())) {
+					int read;
+					while ((read = input.read(buffer)) > 0) {
+						digest.update(buffer, 0, read);
+					}
+				}
+			}
+			return digest.digest();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import hudson.model.Action;
+import hudson.model.Run;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+/**
+ * Build cache hits and misses of a build, shown on the build page.
+ */
+public class BuildCacheAction implements Action {
+	private int hits;
+	private int misses;
+	private long restoredBytes;
+	private long storedBytes;
+
+	/**
+	 * @return the action of the given build, added to it if needed
+	 */
+	public static BuildCacheAction of(final Run<?, ?> run) {
+		synchronized (run) {
+			BuildCacheAction action = run.getAction(BuildCacheAction.class);
+			if (action == null) {
+				action = new BuildCacheAction();
+				run.addAction(action);
+			}
+			return action;
+		}
+	}
+
+	public synchronized void hit(final long bytes) {
+		hits++;
+		restoredBytes += bytes;
+	}
+
+	public synchronized void miss(final long bytes) {
+		misses++;
+		storedBytes += bytes;
+	}
+
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	public synchronized long getRestoredBytes() {
+		return restoredBytes;
+	}
+
+	public synchronized long getStoredBytes() {
+		return storedBytes;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return Messages.BuildCacheAction_summary(hits, misses, restoredBytes, storedBytes);
+	}
+
+	@Override
+	public String getIconFileName() {
+		return null;
+	}
+
+	@Override
+	public String getDisplayName() {
+		return Messages.BuildCacheAction_description();
+	}
+
+	@Override
+	public String getUrlName() {
+		return null;
+	}
+}
@@ -0,0 +1,41 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Outcome of a cached build: either the objects were restored from the cache, or the build command was run.
+ */
+public class BuildCacheResult implements Serializable {
+	@Serial
+	private static final long serialVersionUID = -6052391707125938044L;
+
+	private final String key;
+	private final boolean hit;
+	@CheckForNull
+	private final CallResult callResult;
+
+	public BuildCacheResult(final String key, final boolean hit, @CheckForNull final CallResult callResult) {
+		this.key = key;
+		this.hit = hit;
+		this.callResult = callResult;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public boolean isHit() {
+		return hit;
+	}
+
+	/**
+	 * @return the result of the build command, or <code>null</code> if the objects were restored from the cache
+	 */
+	@CheckForNull
+	public CallResult getCallResult() {
+		return callResult;
+	}
+}
@@ -8,59 +8,209 @@ import com.ibm.as400.access.list.OpenListException;
 import com.ibm.as400.access.list.SpooledFileListItem;
 import com.ibm.as400.access.list.SpooledFileOpenList;
 import hudson.FilePath;
+import org.jenkinsci.plugins.ibmisteps.Messages;
 import org.jenkinsci.plugins.ibmisteps.model.SpooledFiles.SpooledFile;
 
 import java.io.IOException;
 import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class CLSpooledFilehandler implements SpooledFileHandler {
 	@Serial
 	private static final long serialVersionUID = -2465788947902207300L;
 
+	private static final String FAILED = "FAILED:";
+	//QSH CMD is limited to 5000 characters, leaving room for the rest of the command string
+	static final int MAX_COMMAND_LENGTH = 4000;
+
 	CLSpooledFilehandler() {
 
 	}
 
 	@Override
-	public void writeSpooledFile(final IBMi ibmi, final SpooledFile spooledFile, final FilePath toFile)
+	public long writeSpooledFile(final IBMi ibmi, final SpooledFile spooledFile, final FilePath toFile,
+	                             final int fetchSize, final TextConversion conversion)
 			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException {
-		final IFSFile workFolder = new IFSFile(ibmi.getIbmiConnection(), "/tmp", UUID.randomUUID() + ".jenkins.temp");
+		final IFSFile workFolder = newWorkFolder(ibmi);
 		try {
-			workFolder.mkdirs();
-			final IFSFile targetFile = new IFSFile(workFolder, spooledFile.getName() + "_" + spooledFile.getNumber() + ".txt");
-			final IFSFile workFile = new IFSFile(workFolder, targetFile.getName() + ".work");
-
-			final CallResult cpysplf = ibmi
-					.executeCommand(String.format(
-							"CPYSPLF FILE(%s) SPLNBR(%s) TOFILE(*TOSTMF) JOB(%s/%s/%s) TOSTMF('%s')",
-							spooledFile.getName(), spooledFile.getNumber(),
-							spooledFile.getJobNumber(), spooledFile.getJobUser(), spooledFile.getJobName(),
-							workFile));
-			if (!cpysplf.isSuccessful()) {
-				throw new IOException("CPYSPLF failed: " + cpysplf.getPrettyMessages());
+			exportSpooledFiles(ibmi, List.of(spooledFile), workFolder, conversion);
+			return download(ibmi, new IFSFile(workFolder, workFileName(spooledFile)), toFile, conversion);
+		} finally {
+			removeWorkFolder(ibmi, workFolder);
+		}
+	}
+
+	/**
+	 * Copies every spooled file into a single work folder with a few QSH commands, each one running
+	 * <code>CPYSPLF</code> and the conversion to UTF-8 for as many spooled files as it can hold, then downloads them
+	 * all and removes the work folder once.
+	 * With {@link TextConversion#JENKINS}, the IBM i only runs <code>CPYSPLF</code>: the copies are downloaded as they
+	 * are and converted from the CCSID they are tagged with while they are written.
+	 */
+	@Override
+	public long writeSpooledFiles(final IBMi ibmi, final LoggerWrapper logger, final SpooledFiles spooledFiles,
+	                              final Function<SpooledFile, FilePath> targets, final int fetchSize,
+	                              final TextConversion conversion)
+			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException {
+		if (spooledFiles.isEmpty()) {
+			return 0;
+		}
+
+		final IFSFile workFolder = newWorkFolder(ibmi);
+		try {
+			logger.trace("Copying %s spooled file(s) into %s", spooledFiles.size(), workFolder);
+			exportSpooledFiles(ibmi, spooledFiles, workFolder, conversion);
+
+			long bytes = 0;
+			for (final SpooledFile spooledFile : spooledFiles) {
+				final FilePath toFile = targets.apply(spooledFile);
+				logger.trace("Writing %s (%s) into %s", spooledFile.getName(), spooledFile.getNumber(), toFile);
+				bytes += download(ibmi, new IFSFile(workFolder, workFileName(spooledFile)), toFile, conversion);
 			}
+			return bytes;
+		} finally {
+			removeWorkFolder(ibmi, workFolder);
+		}
+	}
+
+	/**
+	 * @return the number of UTF-8 bytes written into <code>toFile</code>, like {@link SQLSpooledFilehandler}
+	 */
+	private static long download(final IBMi ibmi, final IFSFile workFile, final FilePath toFile,
+	                             final TextConversion conversion)
+			throws IOException, InterruptedException, AS400SecurityException {
+		if (conversion == TextConversion.JENKINS) {
+			//The decoder counts the bytes read, in the CCSID of the spooled file
+			ibmi.downloadText(workFile, toFile, null);
+			return toFile.length();
+		}
+		//The work file is already in UTF-8
+		return ibmi.download(workFile, toFile);
+	}
+
+	private static IFSFile newWorkFolder(final IBMi ibmi) throws IOException {
+		final IFSFile workFolder = new IFSFile(ibmi.getIbmiConnection(), "/tmp", UUID.randomUUID() + ".jenkins.temp");
+		if (!workFolder.mkdirs()) {
+			throw new IOException("Failed to create work folder " + workFolder);
+		}
+		return workFolder;
+	}
+
+	private static void removeWorkFolder(final IBMi ibmi, final IFSFile workFolder)
+			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException {
+		ibmi.executeCommand(String.format("RMDIR DIR('%s') SUBTREE(*ALL) RMVLNK(*YES)", workFolder));
+	}
 
-			// Convert to UTF-8
-			final CallResult cpy = ibmi
-					.executeCommand(String.format("CPY OBJ('%s') TOOBJ('%s') TOCCSID(1208) DTAFMT(*TEXT)",
-							workFile, targetFile));
-			if (!cpysplf.isSuccessful()) {
-				throw new IOException("CPY failed: " + cpy.getPrettyMessages());
+	private static void exportSpooledFiles(final IBMi ibmi, final List<SpooledFile> spooledFiles,
+	                                       final IFSFile workFolder, final TextConversion conversion)
+			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException {
+		final List<String> parts = new ArrayList<>();
+		for (final SpooledFile spooledFile : spooledFiles) {
+			final IFSFile targetFile = new IFSFile(workFolder, workFileName(spooledFile));
+			final StringBuilder part = new StringBuilder();
+			if (conversion == TextConversion.JENKINS) {
+				//The copy is converted once downloaded: the IBM i has nothing else to do
+				part.append(system(copySpooledFile(spooledFile, targetFile)));
+			} else {
+				final IFSFile workFile = new IFSFile(workFolder, targetFile.getName() + ".work");
+				//The spooled file is converted to UTF-8 once copied
+				part.append(system(copySpooledFile(spooledFile, workFile)))
+						.append(" && ")
+						.append(system(String.format("CPY OBJ('%s') TOOBJ('%s') TOCCSID(1208) DTAFMT(*TEXT)",
+								workFile, targetFile)));
 			}
+			//The name of the spooled file is printed if anything fails
+			part.append(" || echo ").append(FAILED).append(targetFile.getName()).append(';');
+			parts.add(part.toString());
+		}
 
-			ibmi.download(targetFile, toFile);
-		} finally {
-			ibmi.executeCommand(String.format("RMDIR DIR('%s') SUBTREE(*ALL) RMVLNK(*YES)", workFolder));
+		final List<String> failed = new ArrayList<>();
+		for (final String command : batches(parts)) {
+			final ShellExec result = ibmi.executeShellCommand(command);
+			if (result.code() < 0) {
+				throw new IOException(Messages.IBMiGetSpooledFiles_cpysplf_failed(result.output()));
+			}
+			result.output().lines()
+					.filter(line -> line.startsWith(FAILED))
+					.map(line -> line.substring(FAILED.length()))
+					.forEach(failed::add);
+		}
+
+		if (!failed.isEmpty()) {
+			throw new IOException(Messages.IBMiGetSpooledFiles_cpysplf_failed(String.join(", ", failed)));
 		}
 	}
 
+	/**
+	 * Joins the commands of the spooled files into QSH commands short enough for QSH CMD, once their quotes are
+	 * doubled by {@link IBMi#executeShellCommand(String)}.
+	 */
+	static List<String> batches(final List<String> parts) {
+		final List<String> batches = new ArrayList<>();
+		final StringBuilder command = new StringBuilder();
+		int length = 0;
+		for (final String part : parts) {
+			//Checked before appending, so a batch holds at least one spooled file
+			if (!command.isEmpty() && length + IBMi.shellCommandLength(part) > MAX_COMMAND_LENGTH) {
+				batches.add(command.toString());
+				command.setLength(0);
+				length = 0;
+			}
+			command.append(part);
+			length += IBMi.shellCommandLength(part);
+		}
+		if (!command.isEmpty()) {
+			batches.add(command.toString());
+		}
+		return batches;
+	}
+
+	private static String copySpooledFile(final SpooledFile spooledFile, final IFSFile toFile) {
+		return String.format("CPYSPLF FILE(%s) SPLNBR(%s) TOFILE(*TOSTMF) JOB(%s/%s/%s) TOSTMF('%s')",
+				spooledFile.getName(), spooledFile.getNumber(),
+				spooledFile.getJobNumber(), spooledFile.getJobUser(), spooledFile.getJobName(), toFile);
+	}
+
+	/**
+	 * @return the name of the spooled file in the work folder, unique even when several jobs are exported together
+	 */
+	private static String workFileName(final SpooledFile spooledFile) {
+		return spooledFile.getJobNumber() + "_" + spooledFile.getFileName();
+	}
+
+	/**
+	 * @return a QSH <code>system</code> call running the given CL command, with its output discarded
+	 */
+	private static String system(final String clCommand) {
+		return "system \"" + clCommand.replaceAll("([\\\\\"$`])", "\\\\$1") + "\" > /dev/null";
+	}
+
+	/**
+	 * The open list API filters on a single job: one list is opened per job, on the same connection.
+	 */
 	@Override
-	public SpooledFiles listSpooledFiles(final IBMi ibmi, final String jobNumber, final String jobUser, final String jobName)
+	public SpooledFiles listSpooledFiles(final IBMi ibmi, final List<IBMiJob> jobs, final SpooledFileFilter filter)
+			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException, ObjectDoesNotExistException, OpenListException {
+		final SpooledFiles spooledFiles = new SpooledFiles();
+		for (final IBMiJob job : jobs) {
+			spooledFiles.addAll(listSpooledFiles(ibmi, job.number(), job.user(), job.name(), filter));
+		}
+		return spooledFiles;
+	}
+
+	private SpooledFiles listSpooledFiles(final IBMi ibmi, final String jobNumber, final String jobUser,
+	                                      final String jobName, final SpooledFileFilter filter)
 			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException, ObjectDoesNotExistException, OpenListException {
 		final SpooledFiles spooledFiles = new SpooledFiles();
 		final SpooledFileOpenList spooledList = new SpooledFileOpenList(ibmi.getIbmiConnection());
 		spooledList.setFilterJobInformation(jobName, jobUser, jobNumber);
+		spooledList.setFilterStatuses(filter.getStatuses().toArray(new String[0]));
+		if (filter.getUserData() != null) {
+			spooledList.setFilterUserData(filter.getUserData());
+		}
 		try {
 			spooledList.open();
 			for (final Object object : spooledList.getItems(-1, 0)) {
@@ -69,7 +219,10 @@ public class CLSpooledFilehandler implements SpooledFileHandler {
 						spooledFileItem.getNumber(),
 						spooledFileItem.getSize(), spooledFileItem.getUserData(),
 						spooledFileItem.getJobName(), spooledFileItem.getJobUser(), spooledFileItem.getJobNumber());
-				spooledFiles.add(spooledFile);
+				//The open list cannot filter on names and sizes
+				if (filter.accept(spooledFile)) {
+					spooledFiles.add(spooledFile);
+				}
 			}
 		} finally {
 			spooledList.close();
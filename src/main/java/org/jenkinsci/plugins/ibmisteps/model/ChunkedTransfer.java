@@ -0,0 +1,245 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.IFSFileOutputStream;
+import com.ibm.as400.access.IFSRandomAccessFile;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.FilePath;
+import hudson.remoting.RemoteOutputStream;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.util.zip.CRC32;
+
+/**
+ * Transfers a file chunk by chunk, recording the checksum of each chunk in a {@link TransferManifest}. When a chunk
+ * fails, the transfer is retried from the last completed chunk; when the step itself is run again, the transfer
+ * resumes from the chunks recorded in the manifest after checking the last one on both ends.
+ */
+public class ChunkedTransfer {
+	private final LoggerWrapper logger;
+	private final int chunkSize;
+	private final int retries;
+
+	public ChunkedTransfer(final LoggerWrapper logger, final int chunkSize, final int retries) {
+		this.logger = logger;
+		this.chunkSize = chunkSize;
+		this.retries = Math.max(0, retries);
+	}
+
+	public long download(final IFSFile from, final FilePath to, @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		final long size = from.length();
+		final FilePath manifestFile = TransferManifest.manifestOf(to);
+		final TransferManifest manifest = TransferManifest.load(manifestFile, from.getAbsolutePath(), size, chunkSize);
+		final byte[] buffer = new byte[chunkSize];
+
+		if (manifest.getTransferredBytes() > 0 && !checkLastDownloadedChunk(manifest, from, to, buffer)) {
+			logger.trace("Cannot resume download of %s: last chunk does not match", from);
+			manifest.reset();
+		} else if (manifest.getTransferredBytes() > 0) {
+			logger.log("Resuming download of %s from byte %s", from, manifest.getTransferredBytes());
+			updateDigest(digest, to, manifest.getTransferredBytes(), buffer);
+		}
+
+		int attempt = 0;
+		while (true) {
+			final long offset = manifest.getTransferredBytes();
+			try (IFSRandomAccessFile input = new IFSRandomAccessFile(from, "r");
+			     OutputStream output = to.act(new ResumeOutput(offset))) {
+				input.seek(offset);
+				for (long position = offset; position < size; position += buffer.length) {
+					final int length = chunkLength(position, size, buffer.length);
+					input.readFully(buffer, 0, length);
+					output.write(buffer, 0, length);
+					output.flush();
+					if (digest != null) {
+						digest.update(buffer, 0, length);
+					}
+					manifest.addChunk(checksum(buffer, length));
+					manifest.save(manifestFile);
+				}
+				break;
+			} catch (final IOException e) {
+				attempt = retryOrThrow(attempt, from, e);
+			}
+		}
+
+		manifestFile.delete();
+		return size;
+	}
+
+	public long upload(final FilePath from, final IFSFile to, final int ccsid, @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		final long size = from.length();
+		final FilePath manifestFile = TransferManifest.manifestOf(from);
+		final TransferManifest manifest = TransferManifest.load(manifestFile, to.getAbsolutePath(), size, chunkSize);
+		final byte[] buffer = new byte[chunkSize];
+
+		if (manifest.getTransferredBytes() > 0 && !checkLastUploadedChunk(manifest, from, to, buffer)) {
+			logger.trace("Cannot resume upload to %s: last chunk does not match", to);
+			manifest.reset();
+		} else if (manifest.getTransferredBytes() > 0) {
+			logger.log("Resuming upload to %s from byte %s", to, manifest.getTransferredBytes());
+			updateDigest(digest, from, manifest.getTransferredBytes(), buffer);
+		}
+
+		if (manifest.getTransferredBytes() == 0) {
+			//Creates (or clears) the target with the right CCSID
+			(ccsid > -1 ? new IFSFileOutputStream(to, IFSFileOutputStream.SHARE_ALL, false, ccsid) :
+					new IFSFileOutputStream(to)).close();
+		}
+
+		int attempt = 0;
+		while (true) {
+			final long offset = manifest.getTransferredBytes();
+			try (InputStream input = from.readFromOffset(offset);
+			     IFSRandomAccessFile output = new IFSRandomAccessFile(to, "rw")) {
+				output.setLength(offset);
+				output.seek(offset);
+				for (long position = offset; position < size; position += buffer.length) {
+					final int length = chunkLength(position, size, buffer.length);
+					readFully(input, buffer, length);
+					output.write(buffer, 0, length);
+					if (digest != null) {
+						digest.update(buffer, 0, length);
+					}
+					manifest.addChunk(checksum(buffer, length));
+					manifest.save(manifestFile);
+				}
+				break;
+			} catch (final IOException e) {
+				attempt = retryOrThrow(attempt, to, e);
+			}
+		}
+
+		manifestFile.delete();
+		return size;
+	}
+
+	private int retryOrThrow(final int attempt, final Object target, final IOException e)
+			throws IOException, InterruptedException {
+		if (attempt >= retries) {
+			throw e;
+		}
+		logger.error("Transfer of %s failed (%s); retrying from the last completed chunk (%s/%s)",
+				target, e.getLocalizedMessage(), attempt + 1, retries);
+		Thread.sleep(1000L * (attempt + 1));
+		return attempt + 1;
+	}
+
+	private boolean checkLastDownloadedChunk(final TransferManifest manifest, final IFSFile from, final FilePath to,
+	                                         final byte[] buffer) throws IOException, AS400SecurityException, InterruptedException {
+		final long offset = manifest.getLastChunkOffset();
+		final int length = manifest.getLastChunkLength();
+		if (!to.exists() || to.length() < manifest.getTransferredBytes()) {
+			return false;
+		}
+
+		try (InputStream local = to.readFromOffset(offset)) {
+			readFully(local, buffer, length);
+			if (checksum(buffer, length) != manifest.getLastChecksum()) {
+				return false;
+			}
+		}
+		try (IFSRandomAccessFile remote = new IFSRandomAccessFile(from, "r")) {
+			remote.seek(offset);
+			remote.readFully(buffer, 0, length);
+			return checksum(buffer, length) == manifest.getLastChecksum();
+		}
+	}
+
+	private boolean checkLastUploadedChunk(final TransferManifest manifest, final FilePath from, final IFSFile to,
+	                                       final byte[] buffer) throws IOException, AS400SecurityException, InterruptedException {
+		final long offset = manifest.getLastChunkOffset();
+		final int length = manifest.getLastChunkLength();
+		if (!to.exists() || to.length() < manifest.getTransferredBytes()) {
+			return false;
+		}
+
+		try (IFSRandomAccessFile remote = new IFSRandomAccessFile(to, "r")) {
+			remote.seek(offset);
+			remote.readFully(buffer, 0, length);
+			if (checksum(buffer, length) != manifest.getLastChecksum()) {
+				return false;
+			}
+		}
+		try (InputStream local = from.readFromOffset(offset)) {
+			readFully(local, buffer, length);
+			return checksum(buffer, length) == manifest.getLastChecksum();
+		}
+	}
+
+	/**
+	 * @return the length of the chunk starting at <code>position</code>: a whole chunk, but for the last one
+	 */
+	static int chunkLength(final long position, final long size, final int chunkSize) {
+		return (int) Math.min(chunkSize, size - position);
+	}
+
+	/**
+	 * When resuming a transfer, the bytes transferred before the interruption must be added to the digest.
+	 */
+	private static void updateDigest(@CheckForNull final MessageDigest digest, final FilePath localFile, final long length,
+	                                 final byte[] buffer) throws IOException, InterruptedException {
+		if (digest != null) {
+			try (InputStream input = localFile.read()) {
+				long remaining = length;
+				while (remaining > 0) {
+					final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+					if (read < 0) {
+						throw new EOFException();
+					}
+					digest.update(buffer, 0, read);
+					remaining -= read;
+				}
+			}
+		}
+	}
+
+	private static void readFully(final InputStream input, final byte[] buffer, final int length) throws IOException {
+		int position = 0;
+		while (position < length) {
+			final int read = input.read(buffer, position, length - position);
+			if (read < 0) {
+				throw new EOFException();
+			}
+			position += read;
+		}
+	}
+
+	private static long checksum(final byte[] buffer, final int length) {
+		final CRC32 crc = new CRC32();
+		crc.update(buffer, 0, length);
+		return crc.getValue();
+	}
+
+	/**
+	 * Opens a local file for writing from a given offset, dropping whatever was written after it.
+	 */
+	private static final class ResumeOutput extends MasterToSlaveFileCallable<OutputStream> {
+		@Serial
+		private static final long serialVersionUID = 7214430934592398106L;
+
+		private final long offset;
+
+		private ResumeOutput(final long offset) {
+			this.offset = offset;
+		}
+
+		@Override
+		public OutputStream invoke(final File file, final VirtualChannel channel) throws IOException {
+			final File parent = file.getAbsoluteFile().getParentFile();
+			if (parent != null && !parent.exists() && !parent.mkdirs()) {
+				throw new IOException("Failed to create " + parent);
+			}
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+				randomAccessFile.setLength(offset);
+			}
+			return new RemoteOutputStream(new FileOutputStream(file, true));
+		}
+	}
+}
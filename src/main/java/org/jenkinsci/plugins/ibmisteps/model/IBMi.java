@@ -10,12 +10,23 @@ import org.jenkinsci.plugins.ibmisteps.Messages;
 
 import java.beans.PropertyVetoException;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -38,8 +49,13 @@ public class IBMi implements ConnectionListener, AutoCloseable, Serializable {
 	private transient Job commandJob;
 	private transient Job databaseJob;
 	private transient AS400JDBCConnection sqlConnection;
+	private transient volatile boolean commandRunning;
+	private transient volatile boolean cancelled;
+	private transient Set<IBMi> sessions;
 
+	private transient TransferEngine transferEngine;
 	private SpooledFileHandler spooledFileHandler;
+	private IFSTreeWalker ifsTreeWalker;
 
 	public IBMi(final PrintStream stream, final String host, final StandardUsernamePasswordCredentials credentials,
 	            final int ccsid, final boolean secure, final boolean doTrace) throws IOException, InterruptedException {
@@ -288,7 +304,20 @@ public class IBMi implements ConnectionListener, AutoCloseable, Serializable {
 	 */
 	public void executeAndProcessQuery(final String query, final RowProcessor rowProcessor)
 			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
+		executeAndProcessQuery(query, 0, rowProcessor);
+	}
+
+	/**
+	 * Runs a query and processes its rows as they are fetched.
+	 *
+	 * @param fetchSize the number of rows fetched from the server at once; the driver default is used if 0
+	 */
+	public void executeAndProcessQuery(final String query, final int fetchSize, final RowProcessor rowProcessor)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
 		try (final AS400JDBCStatement statement = getDB2Statement()) {
+			if (fetchSize > 0) {
+				statement.setFetchSize(fetchSize);
+			}
 			try (final ResultSet resultSet = statement.executeQuery(query)) {
 				while (resultSet.next()) {
 					rowProcessor.processRow(resultSet);
@@ -302,10 +331,198 @@ public class IBMi implements ConnectionListener, AutoCloseable, Serializable {
 		command = Util.fixNull(command).trim();
 		final CommandCall commandCall = new CommandCall(ibmiConnection, command);
 		commandCall.setMessageOption(AS400Message.MESSAGE_OPTION_ALL);
-		final boolean executionOK = commandCall.run();
+		final boolean executionOK;
+		commandRunning = true;
+		try {
+			executionOK = commandCall.run();
+		} finally {
+			commandRunning = false;
+		}
 		return new CallResult(this, executionOK, commandCall.getMessageList());
 	}
 
+	/**
+	 * Calls a program directly, without going through the command analyzer, in the command job.
+	 *
+	 * @param program    the IFS path of the program (e.g. <code>/QSYS.LIB/MYLIB.LIB/MYPGM.PGM</code>)
+	 * @param parameters the parameters of the program, converted with the connection {@link CharConverter}
+	 * @return the result of the call, with the values returned by the program and the duration of the call
+	 */
+	public synchronized ProgramCallResult callProgram(final String program, final List<ProgramParameterSpec> parameters)
+			throws IOException, AS400SecurityException, ErrorCompletingRequestException, InterruptedException,
+			ObjectDoesNotExistException {
+		final ProgramParameter[] programParameters = new ProgramParameter[parameters.size()];
+		for (int i = 0; i < programParameters.length; i++) {
+			programParameters[i] = parameters.get(i).toProgramParameter(charConverter);
+		}
+		final ProgramCall programCall = new ProgramCall(ibmiConnection, program, programParameters);
+		programCall.setMessageOption(AS400Message.MESSAGE_OPTION_ALL);
+
+		final boolean executionOK;
+		final long start = System.nanoTime();
+		commandRunning = true;
+		try {
+			executionOK = programCall.run();
+		} finally {
+			commandRunning = false;
+		}
+		final long elapsed = (System.nanoTime() - start) / 1000000;
+
+		final List<Serializable> values = new ArrayList<>();
+		for (int i = 0; i < programParameters.length; i++) {
+			final byte[] output = programParameters[i].getOutputData();
+			values.add(executionOK && output != null ? parameters.get(i).fromBytes(output, charConverter) : null);
+		}
+		return new ProgramCallResult(this, executionOK, programCall.getMessageList(), values, elapsed);
+	}
+
+	/**
+	 * Cancels the command running in the command job, if any, from another connection: the jobs the command has spawned
+	 * (e.g. the processes started by QSH, which don't run in the command job) are ended first, then the command job
+	 * itself, so the server stops working on the command right away and the blocked call fails.
+	 * The sessions added with {@link #addSession(IBMi)} are cancelled too.
+	 * This session cannot be used anymore afterward: it is disconnected, and a new one must be opened.
+	 */
+	public void cancel() {
+		cancelled = true;
+		getSessions().forEach(IBMi::cancel);
+		final Job job = commandJob;
+		if (commandRunning && job != null) {
+			final String jobName = String.format("%s/%s/%s", job.getNumber(), job.getUser(), job.getName());
+			logger.log(Messages.IBMi_cancel(jobName));
+			final AS400 canceller = newConnection();
+			try {
+				//The command job is busy running the command: its attributes must be read through the canceller
+				endChildProcesses(canceller, onConnection(canceller, job));
+				final CommandCall endJob = new CommandCall(canceller, "ENDJOB JOB(" + jobName + ") OPTION(*IMMED)");
+				if (!endJob.run()) {
+					logger.error(Messages.IBMi_cancel_failed(jobName,
+							new CallResult(this, false, endJob.getMessageList()).getPrettyMessages()));
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.error(Messages.IBMi_cancel_failed(jobName, e.getLocalizedMessage()));
+			} catch (final Exception e) {
+				logger.error(Messages.IBMi_cancel_failed(jobName, e.getLocalizedMessage()));
+			} finally {
+				canceller.disconnectAllServices();
+			}
+		}
+		disconnect();
+	}
+
+	/**
+	 * @return a new connection to the same system, with the same credentials: its server jobs are not shared with this
+	 * session, so it can block or run while this session is busy; it must be disconnected once done
+	 */
+	public AS400 newConnection() {
+		return ibmiConnection instanceof SecureAS400 secure ? new SecureAS400(secure) : new AS400(ibmiConnection);
+	}
+
+	/**
+	 * @return the same job, bound to another connection: reading its attributes doesn't go through the connection
+	 * of <code>job</code>
+	 */
+	static Job onConnection(final AS400 connection, final Job job) {
+		return new Job(connection, job.getName(), job.getUser(), job.getNumber());
+	}
+
+	/**
+	 * Ends every process descending from the command job. The process tree is read with the PASE <code>ps</code>
+	 * utility, which lists the processes of all the jobs with their parent process.
+	 */
+	private void endChildProcesses(final AS400 canceller, final Job job) throws Exception {
+		final long processId = ((Number) job.getValue(Job.PROCESS_ID_NUMBER)).longValue();
+		final IFSFile processList = new IFSFile(canceller, "/tmp", UUID.randomUUID() + ".jenkins.temp");
+		try {
+			final CommandCall listProcesses = new CommandCall(canceller,
+					"QSH CMD('/QOpenSys/usr/bin/ps -e -o pid= -o ppid= > " + processList.getAbsolutePath() + "')");
+			if (!listProcesses.run() || !processList.exists()) {
+				logger.error(Messages.IBMi_cancel_children_failed(
+						new CallResult(this, false, listProcesses.getMessageList()).getPrettyMessages()));
+				return;
+			}
+
+			final List<Long> children;
+			try (final BufferedReader reader = new BufferedReader(new IFSFileReader(processList))) {
+				children = descendants(processId, reader.lines().toList());
+			}
+			if (!children.isEmpty()) {
+				logger.log(Messages.IBMi_cancel_children(children.size(), children));
+				final CommandCall kill = new CommandCall(canceller, "QSH CMD('kill -9 " +
+						children.stream().map(String::valueOf).collect(Collectors.joining(" ")) + "')");
+				if (!kill.run()) {
+					logger.error(Messages.IBMi_cancel_children_failed(
+							new CallResult(this, false, kill.getMessageList()).getPrettyMessages()));
+				}
+			}
+		} finally {
+			if (processList.exists()) {
+				processList.delete();
+			}
+		}
+	}
+
+	/**
+	 * @param processes the lines of <code>ps -o pid= -o ppid=</code>
+	 * @return the identifiers of the processes descending from <code>processId</code>, the deepest ones first
+	 */
+	static List<Long> descendants(final long processId, final List<String> processes) {
+		final Map<Long, List<Long>> children = new HashMap<>();
+		for (final String process : processes) {
+			final String[] ids = process.trim().split("\\s+");
+			if (ids.length == 2 && ids[0].matches("\\d+") && ids[1].matches("\\d+")) {
+				children.computeIfAbsent(Long.parseLong(ids[1]), parent -> new ArrayList<>()).add(Long.parseLong(ids[0]));
+			}
+		}
+
+		final List<Long> descendants = new ArrayList<>();
+		final Deque<Long> parents = new ArrayDeque<>(List.of(processId));
+		while (!parents.isEmpty()) {
+			for (final Long child : children.getOrDefault(parents.poll(), List.of())) {
+				if (child != processId && !descendants.contains(child)) {
+					descendants.add(child);
+					parents.add(child);
+				}
+			}
+		}
+		Collections.reverse(descendants);
+		return descendants;
+	}
+
+	/**
+	 * Adds a session opened alongside this one, for work done in parallel: it is cancelled with this session.
+	 */
+	public void addSession(final IBMi session) {
+		getSessions().add(session);
+	}
+
+	public void removeSession(final IBMi session) {
+		getSessions().remove(session);
+	}
+
+	private synchronized Set<IBMi> getSessions() {
+		if (sessions == null) {
+			sessions = ConcurrentHashMap.newKeySet();
+		}
+		return sessions;
+	}
+
+	/**
+	 * @return <code>true</code> if {@link #cancel()} has been called: this session must not be used anymore
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return the length of a command run by {@link #executeShellCommand(String)}, once its quotes are doubled for
+	 * <code>QSH CMD</code>
+	 */
+	static int shellCommandLength(final String command) {
+		return command.length() + (int) command.chars().filter(c -> c == '\'').count();
+	}
+
 	public ShellExec executeShellCommand(@CheckForNull final String command) throws AS400SecurityException, IOException, InterruptedException, ErrorCompletingRequestException {
 		AtomicReference<ShellExec> shellResult = new AtomicReference<>();
 		withTempFile(tempFile -> {
@@ -363,12 +580,55 @@ public class IBMi implements ConnectionListener, AutoCloseable, Serializable {
 		}
 	}
 
+	/**
+	 * Runs a {@link TempFileTask} with a temporary {@link IFSFile} whose name is derived from <code>key</code>.
+	 * The file is kept whenever the task fails, so running the task again with the same key, in a later build, can
+	 * resume its work; it is only deleted once the task has succeeded.
+	 *
+	 * @param key  the key identifying the task
+	 * @param task the task to run on the temporary file
+	 */
+	public void withResumableTempFile(final String key, final TempFileTask task)
+			throws AS400SecurityException, ErrorCompletingRequestException, IOException, InterruptedException {
+		final String name = UUID.nameUUIDFromBytes((ibmiConnection.getUserId() + ":" + key).getBytes(StandardCharsets.UTF_8)) + ".jenkins.temp";
+		final IFSFile tempFile = new IFSFile(ibmiConnection, "/tmp", name);
+		task.run(tempFile);
+		if (tempFile.exists()) {
+			tempFile.delete();
+		}
+	}
+
 	public long download(final IFSFile from, final FilePath to)
 			throws IOException, AS400SecurityException, InterruptedException {
-		try (InputStream input = new BufferedInputStream(new IFSFileInputStream(from));
-		     OutputStream output = new BufferedOutputStream(to.write())) {
-			return copy(input, output);
-		}
+		return download(from, to, 0, 0, null);
+	}
+
+	public long download(final IFSFile from, final FilePath to, final int chunkSize, final int retries)
+			throws IOException, AS400SecurityException, InterruptedException {
+		return download(from, to, chunkSize, retries, null);
+	}
+
+	/**
+	 * Downloads a file, optionally chunk by chunk so the transfer can be resumed from the last completed chunk.
+	 *
+	 * @param chunkSize the chunk size in bytes; a regular download is done if 0
+	 * @param retries   the number of times a failed chunk is retried
+	 * @param digest    if not <code>null</code>, updated with every byte transferred
+	 */
+	public long download(final IFSFile from, final FilePath to, final int chunkSize, final int retries,
+	                     @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		return getTransferEngine().download(from, to, chunkSize, retries, digest);
+	}
+
+	/**
+	 * Downloads a text file, converting it to UTF-8 from the CCSID it is tagged with.
+	 *
+	 * @param digest if not <code>null</code>, updated with every byte transferred
+	 */
+	public long downloadText(final IFSFile from, final FilePath to, @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		return getTransferEngine().downloadText(from, to, digest);
 	}
 
 	public long upload(final FilePath from, final IFSFile to)
@@ -378,25 +638,36 @@ public class IBMi implements ConnectionListener, AutoCloseable, Serializable {
 
 	public long upload(final FilePath from, final IFSFile to, final int ccsid)
 			throws IOException, AS400SecurityException, InterruptedException {
-		if (to.getParentFile() != null) {
-			to.getParentFile().mkdirs();
-		}
-		try (InputStream input = new BufferedInputStream(from.read());
-		     OutputStream output = new BufferedOutputStream(ccsid > -1 ? new IFSFileOutputStream(to, IFSFileOutputStream.SHARE_ALL, false, ccsid) : new IFSFileOutputStream(to))) {
-			return copy(input, output);
-		}
+		return upload(from, to, ccsid, 0, 0, null);
 	}
 
-	private long copy(final InputStream input, final OutputStream output) throws IOException {
-		final byte[] buffer = new byte[1048576];
-		long bytes = 0;
-		int read;
-		while ((read = input.read(buffer)) > -1) {
-			output.write(buffer, 0, read);
-			bytes += read;
-		}
+	public long upload(final FilePath from, final IFSFile to, final int ccsid, final int chunkSize, final int retries)
+			throws IOException, AS400SecurityException, InterruptedException {
+		return upload(from, to, ccsid, chunkSize, retries, null);
+	}
+
+	/**
+	 * Uploads a file, optionally chunk by chunk so the transfer can be resumed from the last completed chunk.
+	 *
+	 * @param chunkSize the chunk size in bytes; a regular upload is done if 0
+	 * @param retries   the number of times a failed chunk is retried
+	 * @param digest    if not <code>null</code>, updated with every byte transferred
+	 */
+	public long upload(final FilePath from, final IFSFile to, final int ccsid, final int chunkSize, final int retries,
+	                   @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		return getTransferEngine().upload(from, to, ccsid, chunkSize, retries, digest);
+	}
 
-		return bytes;
+	/**
+	 * @return the {@link TransferEngine} of this session, that keeps its buffers and known IFS folders from one
+	 * transfer to the next
+	 */
+	public TransferEngine getTransferEngine() {
+		if (transferEngine == null) {
+			transferEngine = new TransferEngine(logger);
+		}
+		return transferEngine;
 	}
 
 	public SpooledFileHandler getSpooledFileHandler() {
@@ -423,4 +694,43 @@ public class IBMi implements ConnectionListener, AutoCloseable, Serializable {
 		}
 		return spooledFileHandler;
 	}
+
+	public IFSTreeWalker getIFSTreeWalker() {
+		if (ifsTreeWalker == null) {
+			final AtomicInteger checkCount = new AtomicInteger(0);
+			try {
+				executeAndProcessQuery("Select count(*) from QSYS2.sysroutines where routine_schema = 'QSYS2' and routine_name = 'IFS_OBJECT_STATISTICS'",
+						row -> checkCount.set(row.getInt(1)));
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.log(Messages.IBMi_failed_sql_service_check(e.getLocalizedMessage()));
+			} catch (SQLException | AS400SecurityException | ObjectDoesNotExistException | IOException |
+			         ErrorCompletingRequestException e) {
+				logger.log(Messages.IBMi_failed_sql_service_check(e.getLocalizedMessage()));
+			}
+
+			if (checkCount.get() > 0) {
+				logger.trace("Using SQL IFS tree walker");
+				ifsTreeWalker = new SQLIFSTreeWalker();
+			} else {
+				logger.trace("Using listFiles IFS tree walker");
+				ifsTreeWalker = new ListFilesIFSTreeWalker();
+			}
+		}
+		return ifsTreeWalker;
+	}
+
+	/**
+	 * Lists the whole content of an IFS folder, in one query when possible.
+	 *
+	 * @param root   the IFS folder
+	 * @param filter the filter to apply on the listed entries
+	 * @return an {@link IFSTree} holding the entries accepted by the filter
+	 */
+	public IFSTree listTree(final IFSFile root, final TransferFilter filter) throws SQLException, AS400SecurityException,
+			ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
+		final IFSTree tree = getIFSTreeWalker().walk(this, root, filter);
+		logger.trace("Listed %s entries (%s bytes) under %s", tree.size(), tree.getTotalSize(), root);
+		return tree;
+	}
 }
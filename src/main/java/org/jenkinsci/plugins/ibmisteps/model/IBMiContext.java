@@ -37,7 +37,7 @@ public class IBMiContext implements Serializable {
 
 	public IBMi getIBMi(final TaskListener listener) throws IOException, InterruptedException, PropertyVetoException,
 			AS400SecurityException, ErrorCompletingRequestException {
-		if (ibmi == null) {
+		if (ibmi == null || ibmi.isCancelled()) {
 			ibmi = new IBMi(listener.getLogger(),
 					host,
 					credentials,
@@ -50,6 +50,29 @@ public class IBMiContext implements Serializable {
 		return ibmi;
 	}
 
+	/**
+	 * Opens a new session on the same IBM i, with its own jobs, for work done in parallel with the main session.
+	 * The caller must close the returned session.
+	 *
+	 * @return a new {@link IBMi} session
+	 */
+	public IBMi openSession(final TaskListener listener) throws IOException, InterruptedException,
+			PropertyVetoException, AS400SecurityException, ErrorCompletingRequestException {
+		final IBMi session = new IBMi(listener.getLogger(),
+				host,
+				credentials,
+				ccsid,
+				secure,
+				traceEnabled);
+		try {
+			session.changeIASP(iasp);
+		} catch (final IOException | PropertyVetoException | AS400SecurityException | ErrorCompletingRequestException e) {
+			session.disconnect();
+			throw e;
+		}
+		return session;
+	}
+
 	public boolean isTraceEnabled() {
 		return traceEnabled;
 	}
@@ -1,10 +1,26 @@
 package org.jenkinsci.plugins.ibmisteps.model;
 
+import hudson.AbortException;
+import hudson.Util;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
 import java.io.Serializable;
+import java.util.Arrays;
 
 public record IBMiJob(String number, String user, String name) implements Serializable {
+	/**
+	 * @param job a qualified job name: <code>number/user/name</code>
+	 */
+	public static IBMiJob parse(final String job) throws AbortException {
+		final String[] parts = Util.fixNull(job).trim().toUpperCase().split("/");
+		if (parts.length != 3 || Arrays.stream(parts).anyMatch(String::isBlank)) {
+			throw new AbortException(Messages.IBMiJob_invalid(job));
+		}
+		return new IBMiJob(parts[0], parts[1], parts[2]);
+	}
+
 	@Override
 	public String toString() {
 		return "%s/%s/%s".formatted(number, user, name);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * In-memory index of an IFS subtree, built by an {@link IFSTreeWalker} in as few requests as possible so transfers can
+ * be planned without querying the IFS for each entry.
+ */
+public class IFSTree implements Serializable {
+	@Serial
+	private static final long serialVersionUID = -1749046120548352135L;
+
+	private final String root;
+	private final Map<String, IFSEntry> entries = new LinkedHashMap<>();
+
+	public IFSTree(final String root) {
+		this.root = root;
+	}
+
+	void add(final IFSEntry entry) {
+		entries.put(entry.relativePath(), entry);
+	}
+
+	public String getRoot() {
+		return root;
+	}
+
+	public Collection<IFSEntry> getEntries() {
+		return Collections.unmodifiableCollection(entries.values());
+	}
+
+	public List<IFSEntry> getFiles() {
+		return entries.values().stream().filter(entry -> !entry.directory()).toList();
+	}
+
+	public List<IFSEntry> getFolders() {
+		return entries.values().stream().filter(IFSEntry::directory).toList();
+	}
+
+	public Optional<IFSEntry> get(final String relativePath) {
+		return Optional.ofNullable(entries.get(relativePath));
+	}
+
+	public long getTotalSize() {
+		return entries.values().stream().mapToLong(IFSEntry::size).sum();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @param path         the absolute IFS path of the entry
+	 * @param relativePath the path of the entry relative to the tree root, using <code>/</code> as separator
+	 * @param directory    <code>true</code> if the entry is a directory
+	 * @param size         the data size in bytes
+	 * @param lastModified the last data change timestamp, in milliseconds since the epoch
+	 */
+	public record IFSEntry(String path, String relativePath, boolean directory, long size,
+	                       long lastModified) implements Serializable {
+	}
+}
@@ -0,0 +1,50 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.sql.SQLException;
+
+public interface IFSTreeWalker extends Serializable {
+
+	/**
+	 * Lists the content of an IFS folder and all its sub-folders.
+	 *
+	 * @param ibmi   the IBM i connection
+	 * @param root   the IFS folder to walk
+	 * @param filter the filter applied to the listed entries
+	 * @return the index of all the entries accepted by the filter
+	 */
+	IFSTree walk(IBMi ibmi, IFSFile root, TransferFilter filter)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException;
+
+	/**
+	 * The IFS root file system is not case-sensitive, and paths may come with or without a trailing slash: the root is
+	 * normalized and compared without case.
+	 *
+	 * @return the path relative to the root, empty for the root itself, or <code>null</code> if the path is not under
+	 * the root
+	 */
+	@CheckForNull
+	static String relativize(final String root, final String path) {
+		final String rootPath = stripTrailingSlashes(root) + "/";
+		if (path.regionMatches(true, 0, rootPath, 0, rootPath.length())) {
+			return stripTrailingSlashes(path.substring(rootPath.length()));
+		}
+		return stripTrailingSlashes(path).equalsIgnoreCase(stripTrailingSlashes(root)) ? "" : null;
+	}
+
+	private static String stripTrailingSlashes(final String path) {
+		int end = path.length();
+		while (end > 0 && path.charAt(end - 1) == '/') {
+			end--;
+		}
+		return path.substring(0, end);
+	}
+}
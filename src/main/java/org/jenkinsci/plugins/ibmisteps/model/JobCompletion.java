@@ -0,0 +1,62 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * How a waited job ended, or its last known status if it was still running when the wait stopped.
+ */
+public class JobCompletion implements Serializable {
+	@Serial
+	private static final long serialVersionUID = -3149577025138094216L;
+
+	private final IBMiJob job;
+	private final JobStatus status;
+	@CheckForNull
+	private final String completionStatus;
+	@CheckForNull
+	private final String endTime;
+
+	/**
+	 * @param completionStatus <code>NORMAL</code> or <code>ABNORMAL</code>, if known
+	 * @param endTime          the time the job ended, as an ISO-8601 instant, if known
+	 */
+	public JobCompletion(final IBMiJob job, final JobStatus status, @CheckForNull final String completionStatus,
+	                     @CheckForNull final String endTime) {
+		this.job = job;
+		this.status = status;
+		this.completionStatus = completionStatus != null ? completionStatus.trim() : null;
+		this.endTime = endTime;
+	}
+
+	public IBMiJob getJob() {
+		return job;
+	}
+
+	public String getStatus() {
+		return status.toString();
+	}
+
+	public boolean isEnded() {
+		return !status.isRunning();
+	}
+
+	@CheckForNull
+	public String getCompletionStatus() {
+		return completionStatus;
+	}
+
+	@CheckForNull
+	public String getEndTime() {
+		return endTime;
+	}
+
+	@Override
+	public String toString() {
+		return completionStatus != null ?
+				String.format("%s: %s (%s at %s)", job, status, completionStatus, endTime) :
+				String.format("%s: %s", job, status);
+	}
+}
@@ -0,0 +1,87 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import hudson.Util;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Follows the job log of a job: each read only returns the messages logged since the previous one, and the latest
+ * messages are kept in a fixed size ring buffer.
+ */
+public class JobLog implements Serializable {
+	@Serial
+	private static final long serialVersionUID = -2370955410253318460L;
+
+	private static final String JOB_LOG = """
+			Select ORDINAL_POSITION, MESSAGE_ID, MESSAGE_TYPE, SEVERITY, MESSAGE_TIMESTAMP, MESSAGE_TEXT \
+			From Table(QSYS2.JOBLOG_INFO('%s')) \
+			Where ORDINAL_POSITION > %d \
+			Order By ORDINAL_POSITION\
+			""";
+
+	private final IBMiJob job;
+	private final JobLogMessage[] messages;
+	//The slot of the next message, which holds the oldest one once the buffer is full
+	private int next;
+	private int size;
+	private long lastPosition;
+
+	/**
+	 * @param capacity the number of messages kept
+	 */
+	public JobLog(final IBMiJob job, final int capacity) {
+		this.job = job;
+		messages = new JobLogMessage[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Reads the messages logged since the previous read.
+	 *
+	 * @param newMessages receives each new message, oldest first
+	 */
+	public void read(final IBMi ibmi, final Consumer<JobLogMessage> newMessages)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		ibmi.executeAndProcessQuery(JOB_LOG.formatted(job, lastPosition), row -> {
+			final Timestamp timestamp = row.getTimestamp(5);
+			final JobLogMessage message = new JobLogMessage(row.getLong(1), row.getString(2), row.getString(3),
+					row.getInt(4), timestamp != null ? timestamp.toInstant().toString() : null,
+					Util.fixNull(row.getString(6)));
+			add(message);
+			newMessages.accept(message);
+		});
+	}
+
+	void add(final JobLogMessage message) {
+		lastPosition = message.getPosition();
+		messages[next] = message;
+		next = (next + 1) % messages.length;
+		size = Math.min(size + 1, messages.length);
+	}
+
+	public IBMiJob getJob() {
+		return job;
+	}
+
+	/**
+	 * @return the latest messages, oldest first
+	 */
+	public List<JobLogMessage> getMessages() {
+		final List<JobLogMessage> latest = new ArrayList<>(size);
+		final int first = size < messages.length ? 0 : next;
+		for (int i = 0; i < size; i++) {
+			latest.add(messages[(first + i) % messages.length]);
+		}
+		return latest;
+	}
+}
@@ -0,0 +1,70 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A message of a job log, as read from <code>QSYS2.JOBLOG_INFO</code>.
+ */
+public class JobLogMessage implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 4526908377041586932L;
+
+	private final long position;
+	@CheckForNull
+	private final String id;
+	private final String type;
+	private final int severity;
+	@CheckForNull
+	private final String timestamp;
+	private final String text;
+
+	/**
+	 * @param position  the position of the message in the job log
+	 * @param timestamp the time the message was sent, as an ISO-8601 instant
+	 */
+	public JobLogMessage(final long position, @CheckForNull final String id, final String type, final int severity,
+	                     @CheckForNull final String timestamp, final String text) {
+		this.position = position;
+		this.id = id != null && !id.isBlank() ? id.trim() : null;
+		this.type = type;
+		this.severity = severity;
+		this.timestamp = timestamp;
+		this.text = text;
+	}
+
+	public long getPosition() {
+		return position;
+	}
+
+	@CheckForNull
+	public String getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public int getSeverity() {
+		return severity;
+	}
+
+	@CheckForNull
+	public String getTimestamp() {
+		return timestamp;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	@Override
+	public String toString() {
+		return id != null ?
+				String.format("%s %s %s(%d): %s", timestamp, id, type, severity, text) :
+				String.format("%s %s(%d): %s", timestamp, type, severity, text);
+	}
+}
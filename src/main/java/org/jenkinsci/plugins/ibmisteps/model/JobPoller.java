@@ -0,0 +1,185 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.Job;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.util.Timer;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the jobs waited for by every build from a single scheduled task of the controller, so a waiting step holds no
+ * thread. On each tick, the jobs due for a poll are read with one query per IBM i session.
+ * The scheduled task only dispatches the polls: they run on a small pool of their own, so a slow IBM i neither holds
+ * the Jenkins timer threads nor delays the polls of the other sessions.
+ */
+public final class JobPoller {
+	private static final Logger LOGGER = Logger.getLogger(JobPoller.class.getName());
+	private static final long TICK = 250;
+	private static final int POLLERS = 4;
+	private static final JobPoller INSTANCE = new JobPoller();
+
+	private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+	private final ExecutorService pollers;
+	@CheckForNull
+	private ScheduledFuture<?> task;
+
+	/**
+	 * Receives the status of a watched job, from the poller task.
+	 */
+	public interface Listener {
+		/**
+		 * @return <code>true</code> if the job no longer needs to be watched
+		 */
+		boolean onStatus(JobStatus status) throws Exception;
+
+		/**
+		 * The job could not be polled, or {@link #onStatus(JobStatus)} failed: it is no longer watched.
+		 */
+		void onFailure(Throwable failure);
+
+		/**
+		 * Called once all the jobs due with this one have been reported, so the jobs reported by a poll can be
+		 * handled together.
+		 */
+		default void onPolled() throws Exception {
+
+		}
+	}
+
+	private JobPoller() {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(POLLERS, POLLERS, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), new NamingThreadFactory(new DaemonThreadFactory(), "IBM i job poller"));
+		executor.allowCoreThreadTimeOut(true);
+		pollers = executor;
+	}
+
+	public static JobPoller get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Starts watching a job, polling it right away, then at the intervals given by <code>backoff</code>; the interval
+	 * is reset whenever the job status changes.
+	 */
+	public void watch(final IBMi ibmi, final IBMiJob job, final Backoff backoff, final Listener listener) {
+		watches.add(new Watch(ibmi, job, backoff, listener));
+		synchronized (this) {
+			if (task == null) {
+				task = Timer.get().scheduleWithFixedDelay(this::tick, 0, TICK, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Stops watching the jobs of a listener.
+	 */
+	public void cancel(final Listener listener) {
+		watches.removeIf(watch -> watch.listener == listener);
+	}
+
+	private void tick() {
+		try {
+			final long now = System.currentTimeMillis();
+			final Map<IBMi, List<Watch>> due = watches.stream()
+					.filter(watch -> watch.nextPoll <= now)
+					.collect(Collectors.groupingBy(watch -> watch.ibmi, IdentityHashMap::new, Collectors.toList()));
+			due.forEach((ibmi, sessionWatches) -> {
+				//Not due again until this poll is done
+				sessionWatches.forEach(watch -> watch.nextPoll = Long.MAX_VALUE);
+				pollers.execute(() -> poll(ibmi, sessionWatches));
+			});
+		} catch (final RuntimeException e) {
+			//A failing scheduled task would never run again
+			LOGGER.log(Level.WARNING, "IBM i job poller failed", e);
+		} finally {
+			synchronized (this) {
+				if (watches.isEmpty() && task != null) {
+					task.cancel(false);
+					task = null;
+				}
+			}
+		}
+	}
+
+	private void poll(final IBMi ibmi, final List<Watch> due) {
+		Map<IBMiJob, JobStatus> statuses = null;
+		try {
+			statuses = JobStatuses.of(ibmi, due.stream().map(watch -> watch.job).distinct().toList());
+		} catch (final Exception e) {
+			//QSYS2.GET_JOB_INFO may not be available: the jobs are then polled one by one
+			LOGGER.log(Level.FINE, "Failed to poll jobs with SQL", e);
+		}
+
+		final Set<Listener> polled = new LinkedHashSet<>();
+		for (final Watch watch : due) {
+			if (!watches.contains(watch)) {
+				//Cancelled meanwhile
+				continue;
+			}
+			polled.add(watch.listener);
+			try {
+				final JobStatus known = statuses != null ? statuses.get(watch.job) : null;
+				//The jobs SQL cannot see are read one by one, so an ended job can be told from an unknown one
+				final JobStatus status = known != null ? known :
+						JobStatus.of(new Job(ibmi.getIbmiConnection(), watch.job.name(), watch.job.user(),
+								watch.job.number()));
+				if (watch.listener.onStatus(status)) {
+					watches.remove(watch);
+				} else {
+					watch.schedule(status);
+				}
+			} catch (final Exception e) {
+				watches.remove(watch);
+				watch.listener.onFailure(e);
+			}
+		}
+
+		for (final Listener listener : polled) {
+			try {
+				listener.onPolled();
+			} catch (final Exception e) {
+				watches.removeIf(watch -> watch.listener == listener);
+				listener.onFailure(e);
+			}
+		}
+	}
+
+	private static final class Watch {
+		private final IBMi ibmi;
+		private final IBMiJob job;
+		private final Backoff backoff;
+		private final Listener listener;
+		private JobStatus lastStatus;
+		private volatile long nextPoll;
+
+		private Watch(final IBMi ibmi, final IBMiJob job, final Backoff backoff, final Listener listener) {
+			this.ibmi = ibmi;
+			this.job = job;
+			this.backoff = backoff;
+			this.listener = listener;
+		}
+
+		private void schedule(final JobStatus status) {
+			if (!status.equals(lastStatus)) {
+				lastStatus = status;
+				backoff.reset();
+			}
+			nextPoll = System.currentTimeMillis() + backoff.next();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400Exception;
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.Job;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import hudson.Util;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * The status of a job at a given time, read from the IBM i in a single request.
+ *
+ * @param status       the job status: <code>*ACTIVE</code>, <code>*JOBQ</code> or <code>*OUTQ</code>
+ * @param activeStatus the active job status (e.g. <code>MSGW</code>), blank if the job is not active
+ */
+public record JobStatus(String status, String activeStatus) implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 6079271734620880548L;
+
+	/**
+	 * The status of a job that has ended and is no longer known to the IBM i.
+	 */
+	public static final JobStatus ENDED = new JobStatus(Job.JOB_STATUS_OUTQ, "");
+
+	public JobStatus {
+		status = Util.fixNull(status).trim();
+		activeStatus = Util.fixNull(activeStatus).trim();
+	}
+
+	/**
+	 * Loads the job information once and reads both statuses from it.
+	 */
+	public static JobStatus of(final Job job) throws AS400SecurityException, ObjectDoesNotExistException, IOException,
+			InterruptedException, ErrorCompletingRequestException {
+		try {
+			job.loadInformation();
+			final String status = job.getStatus();
+			return new JobStatus(status,
+					Job.JOB_STATUS_ACTIVE.equals(status) ? (String) job.getValue(Job.ACTIVE_JOB_STATUS) : "");
+		} catch (final AS400Exception e) {
+			// Jobs created by SBMJOB tend to get cleaned-up immediately upon job completion,
+			// whereupon loadInformation() will throw an AS400Exception containing an AS400Message
+			// indicating "Internal job identifier no longer valid" (message ID CPF3C52).
+			// That exception should be interpreted as an indication that the job has completed.
+			if ("CPF3C52".equals(e.getAS400Message().getID())) {
+				return ENDED;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the job is active or waiting on a job queue
+	 */
+	public boolean isRunning() {
+		return Job.JOB_STATUS_ACTIVE.equals(status) || Job.JOB_STATUS_JOBQ.equals(status);
+	}
+
+	public boolean isInMSGW() {
+		return Job.ACTIVE_JOB_STATUS_WAIT_MESSAGE.equals(activeStatus);
+	}
+
+	@Override
+	public String toString() {
+		return activeStatus.isEmpty() ? status : status + " (" + activeStatus + ")";
+	}
+}
@@ -0,0 +1,90 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the status of many jobs at once: a single query covers every job, whatever their number.
+ */
+public final class JobStatuses {
+	static final String JOB_STATUS = """
+			Select %d As JOB_INDEX, V_JOB_STATUS, V_ACTIVE_JOB_STATUS \
+			From Table(QSYS2.GET_JOB_INFO('%s', V_IGNORE_ERRORS => 'YES'))\
+			""";
+
+	static final String JOB_END = """
+			Select %d As JOB_INDEX, COMPLETION_STATUS, JOB_END_TIME \
+			From Table(QSYS2.JOB_INFO(JOB_STATUS_FILTER => '*OUTQ', JOB_USER_FILTER => '%s')) \
+			Where JOB_NAME = '%s'\
+			""";
+
+	private JobStatuses() {
+
+	}
+
+	/**
+	 * @return the status of each job the SQL service can see; the jobs it cannot see (ended and cleaned up, but also
+	 * unknown or not authorized) are left out, to be read with {@link JobStatus#of(com.ibm.as400.access.Job)} which
+	 * tells them apart
+	 */
+	public static Map<IBMiJob, JobStatus> of(final IBMi ibmi, final List<IBMiJob> jobs)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final Map<IBMiJob, JobStatus> statuses = new HashMap<>();
+		if (jobs.isEmpty()) {
+			return statuses;
+		}
+
+		ibmi.executeAndProcessQuery(union(jobs, JOB_STATUS, false), row -> {
+			final String status = row.getString(2);
+			//V_IGNORE_ERRORS gives a null status for any job that cannot be read, whatever the reason
+			if (status != null && !status.isBlank()) {
+				statuses.put(jobs.get(row.getInt(1)), new JobStatus(status, row.getString(3)));
+			}
+		});
+		return statuses;
+	}
+
+	/**
+	 * Reads how the ended jobs have completed, in a single query too.
+	 *
+	 * @return the completion of each job still on an output queue; the others are left out
+	 */
+	public static Map<IBMiJob, JobCompletion> completions(final IBMi ibmi, final List<IBMiJob> jobs)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final Map<IBMiJob, JobCompletion> completions = new HashMap<>();
+		if (jobs.isEmpty()) {
+			return completions;
+		}
+
+		ibmi.executeAndProcessQuery(union(jobs, JOB_END, true), row -> {
+			final IBMiJob job = jobs.get(row.getInt(1));
+			final Timestamp endTime = row.getTimestamp(3);
+			completions.put(job, new JobCompletion(job, JobStatus.ENDED, row.getString(2),
+					endTime != null ? endTime.toInstant().toString() : null));
+		});
+		return completions;
+	}
+
+	/**
+	 * @return the query run for every job, joined into one; the index of each job is its first column
+	 */
+	static String union(final List<IBMiJob> jobs, final String query, final boolean withUser) {
+		return IntStream.range(0, jobs.size())
+				.mapToObj(index -> withUser ?
+						query.formatted(index, jobs.get(index).user(), jobs.get(index)) :
+						query.formatted(index, jobs.get(index)))
+				.collect(Collectors.joining(" Union All "));
+	}
+}
@@ -0,0 +1,53 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.IFSFileFilter;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.IFSTree.IFSEntry;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+
+/**
+ * Lists an IFS subtree with one {@link IFSFile#listFiles(IFSFileFilter)} call per folder. The entries returned by
+ * the listing hold cached attributes, so reading their type, size and timestamp doesn't cost extra requests.
+ */
+public class ListFilesIFSTreeWalker implements IFSTreeWalker {
+	@Serial
+	private static final long serialVersionUID = -5339018893567052406L;
+
+	ListFilesIFSTreeWalker() {
+
+	}
+
+	@Override
+	public IFSTree walk(final IBMi ibmi, final IFSFile root, final TransferFilter filter) throws IOException {
+		final IFSTree tree = new IFSTree(root.getAbsolutePath());
+		walk(tree, root, filter.toIFSFileFilter(root));
+		return tree;
+	}
+
+	void walk(final IFSTree tree, final IFSFile folder, final IFSFileFilter filter) throws IOException {
+		folder.setPatternMatching(IFSFile.PATTERN_POSIX_ALL);
+		final IFSFile[] items;
+		try {
+			items = folder.listFiles(filter);
+		} catch (final UncheckedIOException e) {
+			//Thrown by the filter of TransferFilter.toIFSFileFilter
+			throw e.getCause();
+		}
+		for (final IFSFile item : items) {
+			final String relativePath = IFSTreeWalker.relativize(tree.getRoot(), item.getAbsolutePath());
+			if (relativePath == null) {
+				throw new IOException(Messages.IFSTreeWalker_outside_root(item.getAbsolutePath(), tree.getRoot()));
+			}
+			if (item.isDirectory()) {
+				tree.add(new IFSEntry(item.getAbsolutePath(), relativePath, true, 0, item.lastModified()));
+				walk(tree, item, filter);
+			} else if (item.isFile()) {
+				tree.add(new IFSEntry(item.getAbsolutePath(), relativePath, false, item.length(), item.lastModified()));
+			}
+		}
+	}
+}
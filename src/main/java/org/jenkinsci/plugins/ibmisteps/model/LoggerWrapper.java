@@ -28,6 +28,13 @@ public class LoggerWrapper {
 		logger.println("[ERROR] " + message);
 	}
 
+	/**
+	 * Prints a line produced on the IBM i (e.g. a spooled file line), prefixed by its source.
+	 */
+	public synchronized void output(final String source, final String line) {
+		logger.println("[" + source + "] " + line);
+	}
+
 	public synchronized void trace(final String format, final Object... args) {
 		if (doTrace) {
 			logger.println("[TRACE] " + String.format(format, args));
@@ -0,0 +1,48 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400Message;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a program call: its messages, the values returned in its parameters and how long it took.
+ */
+public class ProgramCallResult extends CallResult {
+	@Serial
+	private static final long serialVersionUID = -1287609716432054829L;
+
+	private final ArrayList<Serializable> parameters;
+	private final long elapsed;
+
+	/**
+	 * @param parameters the value of each parameter after the call; <code>null</code> for input parameters
+	 * @param elapsed    the duration of the call in milliseconds
+	 */
+	public ProgramCallResult(final IBMi ibmi, final boolean successful, final AS400Message[] as400Messages,
+	                         final List<Serializable> parameters, final long elapsed) {
+		super(ibmi, successful, as400Messages);
+		this.parameters = new ArrayList<>(parameters);
+		this.elapsed = elapsed;
+	}
+
+	public List<Serializable> getParameters() {
+		return parameters;
+	}
+
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	@Override
+	public String toString() {
+		return MessageFormat.format("Successful: {0}; Elapsed: {1}ms; Parameters: {2}; Messages: {3}",
+				isSuccessful(),
+				elapsed,
+				parameters,
+				getPrettyMessages());
+	}
+}
@@ -0,0 +1,183 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400Bin2;
+import com.ibm.as400.access.AS400Bin4;
+import com.ibm.as400.access.AS400Bin8;
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400PackedDecimal;
+import com.ibm.as400.access.AS400ZonedDecimal;
+import com.ibm.as400.access.CharConverter;
+import com.ibm.as400.access.ProgramParameter;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * A parameter of a program call: its IBM i data type, its value and whether the program returns it.
+ */
+public class ProgramParameterSpec extends AbstractDescribableImpl<ProgramParameterSpec> implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 3861640216372254207L;
+
+	private final ProgramParameterType type;
+	private final int length;
+	private int decimals;
+	@CheckForNull
+	private String value;
+	private ProgramParameterUsage usage = ProgramParameterUsage.INPUT;
+
+	/**
+	 * @param length the length in characters for <code>CHAR</code>, in digits for <code>PACKED</code> and
+	 *               <code>ZONED</code>, in bytes (2, 4 or 8) for <code>INT</code>
+	 */
+	@DataBoundConstructor
+	public ProgramParameterSpec(final ProgramParameterType type, final int length) {
+		this.type = type;
+		this.length = length;
+	}
+
+	public ProgramParameterType getType() {
+		return type;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getDecimals() {
+		return decimals;
+	}
+
+	@DataBoundSetter
+	public void setDecimals(final int decimals) {
+		this.decimals = Math.max(0, decimals);
+	}
+
+	@CheckForNull
+	public String getValue() {
+		return value;
+	}
+
+	@DataBoundSetter
+	public void setValue(@CheckForNull final String value) {
+		this.value = value;
+	}
+
+	public ProgramParameterUsage getUsage() {
+		return usage;
+	}
+
+	@DataBoundSetter
+	public void setUsage(final ProgramParameterUsage usage) {
+		this.usage = usage != null ? usage : ProgramParameterUsage.INPUT;
+	}
+
+	public ProgramParameter toProgramParameter(final CharConverter converter) throws AbortException {
+		return switch (usage) {
+			case INPUT -> new ProgramParameter(toBytes(converter));
+			case OUTPUT -> new ProgramParameter(getByteLength());
+			case INOUT -> new ProgramParameter(toBytes(converter), getByteLength());
+		};
+	}
+
+	/**
+	 * @return the value, in the IBM i format of the parameter
+	 */
+	public byte[] toBytes(final CharConverter converter) throws AbortException {
+		final String data = Util.fixNull(value);
+		try {
+			if (type == ProgramParameterType.CHAR) {
+				final byte[] bytes = converter.stringToByteArray(data);
+				if (bytes.length > length) {
+					throw new AbortException(Messages.ProgramParameterSpec_invalid_value(this));
+				}
+				//Padded with blanks, converted too since their code point depends on the CCSID
+				return Arrays.copyOf(converter.stringToByteArray(data + " ".repeat(length - bytes.length)), length);
+			}
+
+			final AS400DataType dataType = getDataType();
+			return switch (type) {
+				case PACKED, ZONED -> dataType.toBytes(new BigDecimal(data.isBlank() ? "0" : data.trim()));
+				case INT -> {
+					final long number = data.isBlank() ? 0 : Long.parseLong(data.trim());
+					yield switch (length) {
+						case 2 -> {
+							if (number < Short.MIN_VALUE || number > Short.MAX_VALUE) {
+								throw new ArithmeticException("short overflow");
+							}
+							yield dataType.toBytes((short) number);
+						}
+						case 4 -> dataType.toBytes(Math.toIntExact(number));
+						default -> dataType.toBytes(number);
+					};
+				}
+				default -> throw new IllegalStateException(type.name());
+			};
+		} catch (final IllegalArgumentException | ArithmeticException e) {
+			//Not a number, or a number that doesn't fit the parameter
+			throw new AbortException(Messages.ProgramParameterSpec_invalid_value(this));
+		}
+	}
+
+	/**
+	 * @return the value read from the IBM i format of the parameter: a <code>String</code> for <code>CHAR</code>, a
+	 * <code>BigDecimal</code> for <code>PACKED</code> and <code>ZONED</code>, a <code>Long</code> for
+	 * <code>INT</code>
+	 */
+	public Serializable fromBytes(final byte[] bytes, final CharConverter converter) throws AbortException {
+		return switch (type) {
+			case CHAR -> converter.byteArrayToString(bytes, 0, length).stripTrailing();
+			case PACKED, ZONED -> (BigDecimal) getDataType().toObject(bytes);
+			case INT -> ((Number) getDataType().toObject(bytes)).longValue();
+		};
+	}
+
+	private int getByteLength() throws AbortException {
+		return type == ProgramParameterType.CHAR ? length : getDataType().getByteLength();
+	}
+
+	private AS400DataType getDataType() throws AbortException {
+		if (length < 1 || type != ProgramParameterType.CHAR && decimals > length) {
+			throw new AbortException(Messages.ProgramParameterSpec_invalid_length(this));
+		}
+		return switch (type) {
+			case PACKED -> new AS400PackedDecimal(length, decimals);
+			case ZONED -> new AS400ZonedDecimal(length, decimals);
+			case INT -> switch (length) {
+				case 2 -> new AS400Bin2();
+				case 4 -> new AS400Bin4();
+				case 8 -> new AS400Bin8();
+				default -> throw new AbortException(Messages.ProgramParameterSpec_invalid_length(this));
+			};
+			default -> throw new IllegalStateException(type.name());
+		};
+	}
+
+	@Override
+	public String toString() {
+		return type == ProgramParameterType.PACKED || type == ProgramParameterType.ZONED ?
+				String.format("%s(%d, %d) %s", type, length, decimals, usage) :
+				String.format("%s(%d) %s", type, length, usage);
+	}
+
+	@Extension
+	public static class DescriptorImpl extends Descriptor<ProgramParameterSpec> {
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.ProgramParameterSpec_description();
+		}
+	}
+}
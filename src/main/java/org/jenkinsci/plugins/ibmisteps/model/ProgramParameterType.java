@@ -0,0 +1,23 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+public enum ProgramParameterType {
+
+	CHAR(Messages::ProgramParameterType_char),
+	PACKED(Messages::ProgramParameterType_packed),
+	ZONED(Messages::ProgramParameterType_zoned),
+	INT(Messages::ProgramParameterType_int);
+
+	private final Supplier<String> displayNameSupplier;
+
+	ProgramParameterType(final Supplier<String> displayNameSupplier) {
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
@@ -0,0 +1,22 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+public enum ProgramParameterUsage {
+
+	INPUT(Messages::ProgramParameterUsage_input),
+	OUTPUT(Messages::ProgramParameterUsage_output),
+	INOUT(Messages::ProgramParameterUsage_inout);
+
+	private final Supplier<String> displayNameSupplier;
+
+	ProgramParameterUsage(final Supplier<String> displayNameSupplier) {
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
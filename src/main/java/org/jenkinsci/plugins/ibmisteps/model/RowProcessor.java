@@ -1,8 +1,9 @@
 package org.jenkinsci.plugins.ibmisteps.model;
 
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public interface RowProcessor {
-	void processRow(ResultSet resultSet) throws SQLException;
+	void processRow(ResultSet resultSet) throws SQLException, IOException;
 }
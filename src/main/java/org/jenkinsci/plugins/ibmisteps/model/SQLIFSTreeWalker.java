@@ -0,0 +1,92 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.IFSTree.IFSEntry;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists a whole IFS subtree with a single <code>QSYS2.IFS_OBJECT_STATISTICS</code> query.
+ * The query doesn't follow symbolic links: they are resolved one by one, and the folders they point to are listed like
+ * {@link ListFilesIFSTreeWalker} does. So is a whole <code>/QSYS.LIB</code> subtree, whose members the query can't
+ * list as stream files.
+ */
+public class SQLIFSTreeWalker implements IFSTreeWalker {
+	@Serial
+	private static final long serialVersionUID = 4702417826460431585L;
+
+	private static final String IFS_OBJECT_STATISTICS = """
+			Select PATH_NAME, OBJECT_TYPE, DATA_SIZE, DATA_CHANGE_TIMESTAMP \
+			From Table(QSYS2.IFS_OBJECT_STATISTICS(START_PATH_NAME => '%s', SUBTREE_DIRECTORIES => 'YES', \
+			OBJECT_TYPE_LIST => '*ALLDIR *ALLSTMF *SYMLNK')) \
+			Order By PATH_NAME \
+			""";
+
+	SQLIFSTreeWalker() {
+
+	}
+
+	@Override
+	public IFSTree walk(final IBMi ibmi, final IFSFile root, final TransferFilter filter)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final String rootPath = root.getAbsolutePath();
+		if (rootPath.toUpperCase().startsWith("/QSYS.LIB")) {
+			return new ListFilesIFSTreeWalker().walk(ibmi, root, filter);
+		}
+
+		final IFSTree tree = new IFSTree(rootPath);
+		final List<IFSEntry> links = new ArrayList<>();
+		ibmi.executeAndProcessQuery(IFS_OBJECT_STATISTICS.formatted(rootPath.replace("'", "''")), row -> {
+			final String path = row.getString("PATH_NAME");
+			final String type = row.getString("OBJECT_TYPE").trim();
+			final String relativePath = IFSTreeWalker.relativize(rootPath, path);
+			if (relativePath == null) {
+				throw new IOException(Messages.IFSTreeWalker_outside_root(path, rootPath));
+			}
+			//The start path is returned too
+			if (relativePath.isEmpty()) {
+				return;
+			}
+			if (type.equals("*SYMLNK")) {
+				links.add(new IFSEntry(path, relativePath, false, 0, 0));
+				return;
+			}
+
+			final boolean directory = type.endsWith("DIR") || type.equals("*FLR");
+			//Since the whole tree comes in one go, folders and files are filtered on their own
+			if (directory ? filter.acceptFolder(relativePath) : filter.acceptFile(relativePath)) {
+				final Timestamp changed = row.getTimestamp("DATA_CHANGE_TIMESTAMP");
+				tree.add(new IFSEntry(path, relativePath, directory, row.getLong("DATA_SIZE"),
+						changed != null ? changed.getTime() : 0));
+			}
+		});
+
+		for (final IFSEntry link : links) {
+			addLink(ibmi, tree, root, link, filter);
+		}
+		return tree;
+	}
+
+	private static void addLink(final IBMi ibmi, final IFSTree tree, final IFSFile root, final IFSEntry link,
+	                            final TransferFilter filter) throws IOException {
+		final IFSFile target = new IFSFile(ibmi.getIbmiConnection(), link.path());
+		if (target.isDirectory()) {
+			if (filter.acceptFolder(link.relativePath())) {
+				tree.add(new IFSEntry(link.path(), link.relativePath(), true, 0, target.lastModified()));
+				new ListFilesIFSTreeWalker().walk(tree, target, filter.toIFSFileFilter(root));
+			}
+		} else if (target.isFile() && filter.acceptFile(link.relativePath())) {
+			tree.add(new IFSEntry(link.path(), link.relativePath(), false, target.length(), target.lastModified()));
+		}
+	}
+}
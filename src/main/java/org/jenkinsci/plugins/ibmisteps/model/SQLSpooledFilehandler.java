@@ -4,14 +4,21 @@ import com.ibm.as400.access.AS400SecurityException;
 import com.ibm.as400.access.ErrorCompletingRequestException;
 import com.ibm.as400.access.ObjectDoesNotExistException;
 import hudson.FilePath;
+import hudson.Util;
 import org.jenkinsci.plugins.ibmisteps.model.SpooledFiles.SpooledFile;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serial;
 import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class SQLSpooledFilehandler implements SpooledFileHandler {
 	@Serial
@@ -23,44 +30,118 @@ public class SQLSpooledFilehandler implements SpooledFileHandler {
 			Order By ORDINAL_POSITION \
 			""";
 
+	private static final String SPOOLED_FILE_TAIL = """
+			Select ORDINAL_POSITION, RTRIM(SPOOLED_DATA) \
+			From TABLE(SYSTOOLS.SPOOLED_FILE_DATA(JOB_NAME =>'%s', SPOOLED_FILE_NAME =>'%s'%s)) \
+			Where ORDINAL_POSITION > %d \
+			Order By ORDINAL_POSITION \
+			""";
+
+	//The size is given in kilobytes: it is read in bytes, like from the spooled file open list
 	private static final String SPOOLED_FILE_INFO = """
-			Select SPOOLED_FILE_NAME, SPOOLED_FILE_NUMBER, SIZE, USER_DATA, JOB_NAME, JOB_USER, JOB_NUMBER \
-			From Table(QSYS2.SPOOLED_FILE_INFO(JOB_NAME => '%s/%s/%s', STATUS => '*READY')) \
+			Select %d As JOB_INDEX, SPOOLED_FILE_NAME, SPOOLED_FILE_NUMBER, %s As SIZE_BYTES, USER_DATA, JOB_NAME, JOB_USER, \
+			JOB_NUMBER \
+			From Table(QSYS2.SPOOLED_FILE_INFO(JOB_NAME => '%s', STATUS => %s)) \
+			Where 1 = 1%s\
 			""";
 
 	SQLSpooledFilehandler() {
 
 	}
 
+	/**
+	 * The lines are always converted by the JDBC driver, on the Jenkins side: <code>conversion</code> is ignored.
+	 */
 	@Override
-	public void writeSpooledFile(final IBMi ibmi, final SpooledFile spooledFile, final FilePath toFile)
+	public long writeSpooledFile(final IBMi ibmi, final SpooledFile spooledFile, final FilePath toFile,
+	                             final int fetchSize, final TextConversion conversion)
 			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
 			ErrorCompletingRequestException {
-		final List<String> content = new ArrayList<>();
 		final String query = SPOOLED_FILE_DATA.formatted(
 				spooledFile.getJobNumber(),
 				spooledFile.getJobUser(),
 				spooledFile.getJobName(),
 				spooledFile.getName(),
 				spooledFile.getNumber());
-		ibmi.executeAndProcessQuery(query, row -> content.add(row.getString(1)));
-		toFile.write(String.join("\n", content), StandardCharsets.UTF_8.name());
+		//Lines are written as they are fetched: the spooled file is never held in memory
+		try (LineWriter writer = new LineWriter(toFile.write())) {
+			ibmi.executeAndProcessQuery(query, fetchSize, writer);
+			return writer.bytes;
+		}
 	}
 
 	@Override
-	public SpooledFiles listSpooledFiles(final IBMi ibmi, final String jobNumber, final String jobUser, final String jobName)
+	public SpooledFiles listSpooledFiles(final IBMi ibmi, final List<IBMiJob> jobs, final SpooledFileFilter filter)
 			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
 			ErrorCompletingRequestException {
+		//One query for all the jobs
+		final String query = IntStream.range(0, jobs.size())
+				.mapToObj(index -> SPOOLED_FILE_INFO.formatted(index, SpooledFileFilter.SQL_SIZE, jobs.get(index),
+						filter.toSQLStatus(), filter.toSQLConditions()))
+				.collect(Collectors.joining(" Union All ", "", " Order By JOB_INDEX, SPOOLED_FILE_NUMBER"));
 		final SpooledFiles spooledFiles = new SpooledFiles();
-		ibmi.executeAndProcessQuery(SPOOLED_FILE_INFO.formatted(
-						jobNumber,
-						jobUser,
-						jobName),
+		ibmi.executeAndProcessQuery(query,
 				row -> spooledFiles.add(new SpooledFile(row.getString("SPOOLED_FILE_NAME"),
 						row.getInt("SPOOLED_FILE_NUMBER"),
-						row.getLong("SIZE"), row.getString("USER_DATA"),
+						row.getLong("SIZE_BYTES"), row.getString("USER_DATA"),
 						row.getString("JOB_NAME"), row.getString("JOB_USER"), row.getString("JOB_NUMBER"))));
 		return spooledFiles;
 	}
 
+	/**
+	 * Reads the lines appended to a spooled file since the previous read; only those lines are transferred.
+	 *
+	 * @param number   the spooled file number; the last spooled file with that name if 0
+	 * @param lastSeen the position of the last line already read, 0 if none
+	 * @param lines    receives each new line
+	 * @return the position of the last line read
+	 */
+	public long readLines(final IBMi ibmi, final IBMiJob job, final String name, final int number, final long lastSeen,
+	                      final int fetchSize, final Consumer<String> lines)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final String query = SPOOLED_FILE_TAIL.formatted(job, name,
+				number > 0 ? ", SPOOLED_FILE_NUMBER => " + number : "", lastSeen);
+		final AtomicLong position = new AtomicLong(lastSeen);
+		ibmi.executeAndProcessQuery(query, fetchSize, row -> {
+			position.set(row.getLong(1));
+			lines.accept(Util.fixNull(row.getString(2)));
+		});
+		return position.get();
+	}
+
+	/**
+	 * Writes each row as a UTF-8 line, through a bounded buffer.
+	 */
+	private static final class LineWriter implements RowProcessor, AutoCloseable {
+		private static final int BUFFER_SIZE = 65536;
+		private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+		private final OutputStream output;
+		private long lines;
+		private long bytes;
+
+		private LineWriter(final OutputStream output) {
+			this.output = new BufferedOutputStream(output, BUFFER_SIZE);
+		}
+
+		@Override
+		public void processRow(final ResultSet resultSet) throws SQLException, IOException {
+			if (lines++ > 0) {
+				output.write(NEW_LINE);
+				bytes += NEW_LINE.length;
+			}
+			final String line = resultSet.getString(1);
+			if (line != null) {
+				final byte[] data = line.getBytes(StandardCharsets.UTF_8);
+				output.write(data);
+				bytes += data.length;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			output.close();
+		}
+	}
 }
@@ -0,0 +1,32 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+public enum SaveCompression {
+
+	NO("*NO", Messages::SaveCompression_no),
+	LOW("*LOW", Messages::SaveCompression_low),
+	MEDIUM("*MEDIUM", Messages::SaveCompression_medium),
+	HIGH("*HIGH", Messages::SaveCompression_high);
+
+	private final String value;
+	private final Supplier<String> displayNameSupplier;
+
+	SaveCompression(final String value, final Supplier<String> displayNameSupplier) {
+		this.value = value;
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	/**
+	 * @return the value of the <code>DTACPR</code> parameter of the save commands
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
@@ -17,13 +17,27 @@ public class SaveFileContent implements Serializable {
 	private final long size;
 	private final String creationLPAR;
 	private final String description;
-	private final List<SAVFEntry> entries = new LinkedList<>();
+	private final List<SAVFEntry> entries = new ArrayList<>();
 	private final String targetRelease;
 
 	private String savedLibrary;
+	private int entryCount;
+	private long entriesSize;
+	private TransferStatistics transferStatistics;
 
 	public SaveFileContent(final SaveFile saveFile) throws AS400SecurityException,
 			ErrorCompletingRequestException, InterruptedException, IOException, ObjectDoesNotExistException {
+		this(saveFile, SaveFileListing.FULL);
+	}
+
+	/**
+	 * @param saveFile the Save File to describe
+	 * @param listing  {@link SaveFileListing#FULL} keeps every entry, {@link SaveFileListing#SUMMARY} only counts them
+	 *                 (the Save File is still listed) and {@link SaveFileListing#NONE} doesn't list the Save File at
+	 *                 all
+	 */
+	public SaveFileContent(final SaveFile saveFile, final SaveFileListing listing) throws AS400SecurityException,
+			ErrorCompletingRequestException, InterruptedException, IOException, ObjectDoesNotExistException {
 		name = saveFile.getName();
 		description = saveFile.getDescription();
 		size = saveFile.getLength();
@@ -53,6 +67,10 @@ public class SaveFileContent implements Serializable {
 		}
 		creationLPAR = saveFile.getSystem().getSystemName();
 
+		if (listing == SaveFileListing.NONE) {
+			return;
+		}
+
 		final List<SaveFileEntry> savfEntries = Optional.ofNullable(saveFile.listEntries())
 				.map(Arrays::asList)
 				.orElseGet(Collections::emptyList);
@@ -61,7 +79,11 @@ public class SaveFileContent implements Serializable {
 			if (entry.getType().equalsIgnoreCase("*lib")) {
 				savedLibrary = entry.getLibrary();
 			} else {
-				entries.add(new SAVFEntry(entry));
+				entryCount++;
+				entriesSize += entry.getSize();
+				if (listing == SaveFileListing.FULL) {
+					entries.add(new SAVFEntry(entry));
+				}
 			}
 		}
 	}
@@ -86,6 +108,20 @@ public class SaveFileContent implements Serializable {
 		return entries;
 	}
 
+	/**
+	 * @return the number of objects saved in the Save File; 0 if the Save File was not listed
+	 */
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * @return the total size of the objects saved in the Save File; 0 if the Save File was not listed
+	 */
+	public long getEntriesSize() {
+		return entriesSize;
+	}
+
 	public String getTargetRelease() {
 		return targetRelease;
 	}
@@ -94,6 +130,18 @@ public class SaveFileContent implements Serializable {
 		return size;
 	}
 
+	/**
+	 * @return the statistics of the transfer that downloaded or uploaded the Save File
+	 */
+	public TransferStatistics getTransferStatistics() {
+		return transferStatistics;
+	}
+
+	public SaveFileContent withTransferStatistics(final TransferStatistics transferStatistics) {
+		this.transferStatistics = transferStatistics;
+		return this;
+	}
+
 	public String toJSON() throws JsonProcessingException {
 		final ObjectMapper objectMapper = new ObjectMapper();
 		return objectMapper.writeValueAsString(this);
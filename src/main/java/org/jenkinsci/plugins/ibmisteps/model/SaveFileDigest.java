@@ -0,0 +1,65 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Content digest of a Save File, recorded in the text description of the Save File object after an upload so the
+ * next upload of the same content can be skipped.
+ * <p>
+ * The text is made of a 6 characters prefix and the 43 characters of the base64url encoded SHA-256 of the content, so it
+ * fits in the 50 characters of an object text.
+ */
+public final class SaveFileDigest {
+	private static final String PREFIX = "JKSHA:";
+
+	private SaveFileDigest() {
+	}
+
+	/**
+	 * Computes the digest of a workspace file on the agent holding it.
+	 *
+	 * @return the object text recording the content of the file
+	 */
+	public static String of(final FilePath file) throws IOException, InterruptedException {
+		return PREFIX + file.act(new Sha256());
+	}
+
+	/**
+	 * @return <code>true</code> if the given object text was recorded by {@link #of(FilePath)}
+	 */
+	public static boolean isDigest(@CheckForNull final String text) {
+		return text != null && text.trim().startsWith(PREFIX);
+	}
+
+	private static final class Sha256 extends MasterToSlaveFileCallable<String> {
+		@Serial
+		private static final long serialVersionUID = -3207714519871652803L;
+
+		@Override
+		public String invoke(final File file, final VirtualChannel channel) throws IOException {
+			try (InputStream input = Files.newInputStream(file.toPath())) {
+				final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				final byte[] buffer = new byte[65536];
+				int read;
+				while ((read = input.read(buffer)) > 0) {
+					digest.update(buffer, 0, read);
+				}
+				return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+			} catch (final NoSuchAlgorithmException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+}
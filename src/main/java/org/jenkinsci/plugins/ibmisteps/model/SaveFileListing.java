@@ -0,0 +1,27 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+/**
+ * How the objects saved in a Save File are listed in a {@link SaveFileContent}.
+ * Only {@link #NONE} spares the listing itself: {@link #SUMMARY} still reads every entry from the IBM i and only keeps
+ * the returned value small.
+ */
+public enum SaveFileListing {
+
+	NONE(Messages::SaveFileListing_none),
+	SUMMARY(Messages::SaveFileListing_summary),
+	FULL(Messages::SaveFileListing_full);
+
+	private final Supplier<String> displayNameSupplier;
+
+	SaveFileListing(final Supplier<String> displayNameSupplier) {
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
@@ -0,0 +1,56 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A Save File and the workspace file it is transferred from or to.
+ */
+public class SaveFileSpec extends AbstractDescribableImpl<SaveFileSpec> implements Serializable {
+	@Serial
+	private static final long serialVersionUID = -6054209740151307862L;
+
+	private final String library;
+	private final String name;
+	private final String file;
+
+	@DataBoundConstructor
+	public SaveFileSpec(final String library, final String name, final String file) {
+		this.library = library.trim().toUpperCase();
+		this.name = name.trim().toUpperCase();
+		this.file = file;
+	}
+
+	public String getLibrary() {
+		return library;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getFile() {
+		return file;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s/%s (%s)", library, name, file);
+	}
+
+	@Extension
+	public static class DescriptorImpl extends Descriptor<SaveFileSpec> {
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.SaveFileSpec_description();
+		}
+	}
+}
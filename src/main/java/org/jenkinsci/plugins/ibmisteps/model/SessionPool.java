@@ -0,0 +1,143 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import hudson.model.TaskListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs tasks in parallel over several {@link IBMi} sessions: the main session of the <code>onIBMi</code> block and
+ * additional sessions opened on demand, each with its own jobs. Every session works on one item at a time.
+ * The additional sessions are disconnected when the pool is closed.
+ */
+public class SessionPool implements AutoCloseable {
+	private final IBMiContext context;
+	private final TaskListener listener;
+	private final IBMi mainSession;
+	private final int size;
+	private final List<IBMi> sessions = new ArrayList<>();
+
+	/**
+	 * @param size the maximum number of sessions working in parallel, including the main session
+	 */
+	public SessionPool(final IBMiContext context, final TaskListener listener, final IBMi mainSession, final int size) {
+		this.context = context;
+		this.listener = listener;
+		this.mainSession = mainSession;
+		this.size = Math.max(1, size);
+	}
+
+	/**
+	 * Runs a task on every item; the first failure stops the other sessions from starting new items.
+	 *
+	 * @return the results, in the same order as the items
+	 */
+	public <I, R> List<R> map(final List<I> items, final SessionTask<I, R> task) throws IOException, InterruptedException {
+		final int workers = Math.min(size, items.size());
+		if (workers <= 1) {
+			final List<R> results = new ArrayList<>();
+			for (final I item : items) {
+				results.add(run(task, mainSession, item));
+			}
+			return results;
+		}
+
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicBoolean failed = new AtomicBoolean();
+		final AtomicReferenceArray<R> results = new AtomicReferenceArray<>(items.size());
+		final ExecutorService executor = Executors.newFixedThreadPool(workers,
+				new NamingThreadFactory(new DaemonThreadFactory(), "IBM i session pool"));
+		try {
+			final List<Future<Void>> futures = new ArrayList<>();
+			for (int worker = 0; worker < workers; worker++) {
+				final boolean main = worker == 0;
+				futures.add(executor.submit(() -> {
+					try {
+						final IBMi ibmi = main ? mainSession : openSession();
+						int index;
+						while (!failed.get() && (index = next.getAndIncrement()) < items.size()) {
+							results.set(index, task.run(ibmi, items.get(index)));
+						}
+						return null;
+					} catch (final Exception e) {
+						failed.set(true);
+						throw e;
+					}
+				}));
+			}
+
+			//Wait for every worker, so no session is still in use when the pool gets closed
+			Throwable failure = null;
+			for (final Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (final ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+				}
+			}
+			rethrow(failure);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		final List<R> list = new ArrayList<>(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			list.add(results.get(i));
+		}
+		return list;
+	}
+
+	private IBMi openSession() throws Exception {
+		final IBMi session = context.openSession(listener);
+		synchronized (sessions) {
+			sessions.add(session);
+		}
+		//An aborted build cancels the requests of the main session, and of these ones with it
+		mainSession.addSession(session);
+		return session;
+	}
+
+	private static <I, R> R run(final SessionTask<I, R> task, final IBMi ibmi, final I item)
+			throws IOException, InterruptedException {
+		try {
+			return task.run(ibmi, item);
+		} catch (final Exception e) {
+			rethrow(e);
+			return null;
+		}
+	}
+
+	private static void rethrow(final Throwable failure) throws IOException, InterruptedException {
+		if (failure instanceof IOException ioException) {
+			throw ioException;
+		} else if (failure instanceof InterruptedException interruptedException) {
+			throw interruptedException;
+		} else if (failure instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		} else if (failure instanceof Error error) {
+			throw error;
+		} else if (failure != null) {
+			throw new IOException(failure);
+		}
+	}
+
+	@Override
+	public void close() {
+		synchronized (sessions) {
+			sessions.forEach(session -> {
+				mainSession.removeSession(session);
+				session.disconnect();
+			});
+			sessions.clear();
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+/**
+ * A task run by a {@link SessionPool} on one item, using one of the pool sessions.
+ *
+ * @param <I> the item type
+ * @param <R> the result type
+ */
+public interface SessionTask<I, R> {
+	R run(IBMi ibmi, I item) throws Exception;
+}
@@ -0,0 +1,122 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.Util;
+import org.jenkinsci.plugins.ibmisteps.model.SpooledFiles.SpooledFile;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the spooled files of a job by name, user data, size and status, so the handlers only list and transfer the
+ * spooled files that are wanted.
+ */
+public class SpooledFileFilter implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 2843265307169460254L;
+	/**
+	 * The size of a spooled file in bytes, from <code>QSYS2.SPOOLED_FILE_INFO</code> which gives it in kilobytes.
+	 */
+	static final String SQL_SIZE = "SIZE * 1024";
+
+	private final List<String> names;
+	@CheckForNull
+	private final String userData;
+	private final long minSize;
+	private final long maxSize;
+	private final List<String> statuses;
+
+	/**
+	 * @param names    names or generic names (e.g. <code>QPJOB*</code>) separated by spaces or commas; every name
+	 *                 matches if blank
+	 * @param userData the exact user data; every user data matches if blank
+	 * @param minSize  the minimum size of the spooled files, in bytes
+	 * @param maxSize  the maximum size of the spooled files, in bytes; no maximum if 0
+	 * @param status   the statuses (e.g. <code>*READY *HELD</code>) separated by spaces or commas; defaults to
+	 *                 <code>*READY</code> if blank
+	 */
+	public SpooledFileFilter(@CheckForNull final String names, @CheckForNull final String userData, final long minSize,
+	                         final long maxSize, @CheckForNull final String status) {
+		this.names = split(names);
+		this.userData = Util.fixEmptyAndTrim(userData);
+		this.minSize = Math.max(0, minSize);
+		this.maxSize = Math.max(0, maxSize);
+		final List<String> statusList = split(status);
+		this.statuses = statusList.isEmpty() ? List.of("*READY") : statusList;
+	}
+
+	/**
+	 * @return a filter keeping every <code>*READY</code> spooled file
+	 */
+	public static SpooledFileFilter ready() {
+		return new SpooledFileFilter(null, null, 0, 0, null);
+	}
+
+	public List<String> getStatuses() {
+		return statuses;
+	}
+
+	@CheckForNull
+	public String getUserData() {
+		return userData;
+	}
+
+	/**
+	 * Checks the criteria the open list API cannot filter on by itself: names and sizes.
+	 */
+	public boolean accept(final SpooledFile spooledFile) {
+		return (names.isEmpty() || names.stream().anyMatch(name -> matches(name, spooledFile.getName())))
+				&& spooledFile.getSize() >= minSize
+				&& (maxSize == 0 || spooledFile.getSize() <= maxSize);
+	}
+
+	/**
+	 * @return the conditions of this filter for a query on <code>QSYS2.SPOOLED_FILE_INFO</code>, each one starting
+	 * with <code>And</code>
+	 */
+	public String toSQLConditions() {
+		final StringBuilder conditions = new StringBuilder();
+		if (!names.isEmpty()) {
+			conditions.append(names.stream()
+					.map(name -> name.endsWith("*") ?
+							"SPOOLED_FILE_NAME Like " + quote(name.substring(0, name.length() - 1) + "%") :
+							"SPOOLED_FILE_NAME = " + quote(name))
+					.collect(Collectors.joining(" Or ", " And (", ")")));
+		}
+		if (userData != null) {
+			conditions.append(" And USER_DATA = ").append(quote(userData));
+		}
+		if (minSize > 0) {
+			conditions.append(" And ").append(SQL_SIZE).append(" >= ").append(minSize);
+		}
+		if (maxSize > 0) {
+			conditions.append(" And ").append(SQL_SIZE).append(" <= ").append(maxSize);
+		}
+		return conditions.toString();
+	}
+
+	/**
+	 * @return the statuses, as the <code>STATUS</code> parameter of <code>QSYS2.SPOOLED_FILE_INFO</code>
+	 */
+	public String toSQLStatus() {
+		return quote(String.join(" ", statuses));
+	}
+
+	private static boolean matches(final String name, final String spooledFileName) {
+		return name.endsWith("*") ?
+				spooledFileName.startsWith(name.substring(0, name.length() - 1)) :
+				spooledFileName.equals(name);
+	}
+
+	private static String quote(final String value) {
+		return "'" + value.replace("'", "''") + "'";
+	}
+
+	private static List<String> split(@CheckForNull final String values) {
+		final String trimmed = Util.fixEmptyAndTrim(values);
+		return trimmed == null ? List.of() : Arrays.stream(trimmed.toUpperCase().split("[,\\s]+")).toList();
+	}
+}
@@ -10,14 +10,48 @@ import org.jenkinsci.plugins.ibmisteps.model.SpooledFiles.SpooledFile;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
 
 public interface SpooledFileHandler extends Serializable {
 
-	void writeSpooledFile(IBMi ibmi, SpooledFile spooledFile, FilePath target)
+	/**
+	 * @param fetchSize  the number of rows fetched at once by handlers reading the spooled file through SQL
+	 * @param conversion where handlers exporting the spooled file with CL commands convert it to UTF-8
+	 * @return the number of bytes written into <code>target</code>, once converted to UTF-8, whatever the handler
+	 */
+	long writeSpooledFile(IBMi ibmi, SpooledFile spooledFile, FilePath target, int fetchSize,
+	                      TextConversion conversion)
 			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
 			ErrorCompletingRequestException;
 
-	SpooledFiles listSpooledFiles(IBMi ibmi, String jobNumber, String jobUser, String jobName)
+	/**
+	 * Writes spooled files, each one into its own target file.
+	 *
+	 * @param targets gives the target file of each spooled file
+	 * @return the number of UTF-8 bytes written
+	 */
+	default long writeSpooledFiles(final IBMi ibmi, final LoggerWrapper logger, final SpooledFiles spooledFiles,
+	                               final Function<SpooledFile, FilePath> targets, final int fetchSize,
+	                               final TextConversion conversion)
+			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		long bytes = 0;
+		for (final SpooledFile spooledFile : spooledFiles) {
+			final FilePath toFile = targets.apply(spooledFile);
+			logger.trace("Writing %s (%s) into %s", spooledFile.getName(), spooledFile.getNumber(), toFile);
+			bytes += writeSpooledFile(ibmi, spooledFile, toFile, fetchSize, conversion);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Lists the spooled files of several jobs at once.
+	 *
+	 * @param filter the spooled files to list; the others are never listed
+	 * @return the spooled files, job by job in the order of <code>jobs</code>
+	 */
+	SpooledFiles listSpooledFiles(IBMi ibmi, List<IBMiJob> jobs, SpooledFileFilter filter)
 			throws SQLException, AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
 			ErrorCompletingRequestException, OpenListException;
 }
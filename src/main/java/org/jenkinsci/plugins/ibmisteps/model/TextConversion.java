@@ -0,0 +1,24 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+/**
+ * Where text exported by CL commands is converted to UTF-8.
+ */
+public enum TextConversion {
+
+	IBMI(Messages::TextConversion_ibmi),
+	JENKINS(Messages::TextConversion_jenkins);
+
+	private final Supplier<String> displayNameSupplier;
+
+	TextConversion(final Supplier<String> displayNameSupplier) {
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
@@ -0,0 +1,132 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400;
+import com.ibm.as400.access.CharConverter;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Converts IBM i text from its CCSID to UTF-8 on the Jenkins side, as it is read, so the IBM i doesn't have to.
+ * The text is cut into chunks right after a line end, so each chunk can be decoded on its own; chunks are decoded in
+ * parallel and written in order, with only a few of them held in memory at once.
+ */
+public class TextDecoder {
+	static final int CHUNK_SIZE = 1048576;
+	private static final int PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	private static ExecutorService executor;
+
+	private final CharConverter converter;
+	private final byte[] lineEnd;
+	private final int chunkSize;
+
+	/**
+	 * @param ccsid  the CCSID of the text
+	 * @param system the IBM i to get the conversion table from, if it isn't shipped with the toolbox
+	 */
+	public TextDecoder(final int ccsid, final AS400 system) throws IOException {
+		this(new CharConverter(ccsid, system), CHUNK_SIZE);
+	}
+
+	TextDecoder(final CharConverter converter, final int chunkSize) {
+		this.converter = converter;
+		lineEnd = converter.stringToByteArray("\n");
+		//Keeps every chunk aligned on whole characters for double-byte CCSIDs
+		this.chunkSize = chunkSize - chunkSize % Math.max(1, lineEnd.length);
+	}
+
+	/**
+	 * Reads the text until the end of <code>input</code> and writes it as UTF-8 into <code>output</code>.
+	 *
+	 * @param digest if not <code>null</code>, updated with every byte read
+	 * @return the number of bytes read
+	 */
+	public long decode(final InputStream input, final OutputStream output, @CheckForNull final MessageDigest digest)
+			throws IOException, InterruptedException {
+		final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+		try {
+			long bytes = 0;
+			byte[] buffer = new byte[chunkSize];
+			int length = 0;
+			int read;
+			while ((read = input.readNBytes(buffer, length, buffer.length - length)) > 0) {
+				if (digest != null) {
+					digest.update(buffer, length, read);
+				}
+				bytes += read;
+				length += read;
+				if (length < buffer.length) {
+					continue;
+				}
+
+				//The bytes after the last line end are carried over to the next chunk
+				final int cut = cut(buffer, length);
+				final byte[] chunk = buffer;
+				final int chunkLength = cut;
+				buffer = new byte[chunkSize];
+				length -= cut;
+				System.arraycopy(chunk, cut, buffer, 0, length);
+
+				if (pending.size() >= PARALLELISM) {
+					output.write(get(pending.removeFirst()));
+				}
+				pending.addLast(getExecutor().submit(() -> toUTF8(chunk, chunkLength)));
+			}
+
+			while (!pending.isEmpty()) {
+				output.write(get(pending.removeFirst()));
+			}
+			output.write(toUTF8(buffer, length));
+			return bytes;
+		} finally {
+			pending.forEach(future -> future.cancel(true));
+		}
+	}
+
+	/**
+	 * @return the length of the chunk to decode: up to the last line end, or the whole buffer if it has none
+	 */
+	int cut(final byte[] buffer, final int length) {
+		for (int i = length - lineEnd.length; i >= 0; i -= lineEnd.length) {
+			if (Arrays.equals(buffer, i, i + lineEnd.length, lineEnd, 0, lineEnd.length)) {
+				return i + lineEnd.length;
+			}
+		}
+		//No line end in a whole chunk: this is hardly text, so there is no better place to cut it
+		return length;
+	}
+
+	private byte[] toUTF8(final byte[] chunk, final int length) {
+		return length == 0 ? new byte[0] :
+				converter.byteArrayToString(chunk, 0, length).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] get(final Future<byte[]> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			throw new IOException("Failed to decode text", e.getCause());
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(PARALLELISM,
+					new NamingThreadFactory(new DaemonThreadFactory(), "IBM i text decoder"));
+		}
+		return executor;
+	}
+}
@@ -0,0 +1,180 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.IFSFileInputStream;
+import com.ibm.as400.access.IFSFileOutputStream;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.FilePath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Transfers files between the IFS and the workspace for the lifetime of an {@link IBMi} session.
+ * <ul>
+ *     <li>Transfer buffers are pooled and reused from one file to the next</li>
+ *     <li>The IFS folders known to exist are cached, so uploading many files into the same folder only checks it once;
+ *     the cache is dropped when an upload fails because its folder has been removed since</li>
+ *     <li>Streams are read and written one whole buffer at a time, without any extra buffering layer</li>
+ * </ul>
+ */
+public class TransferEngine {
+	static final int BUFFER_SIZE = 1048576;
+	private static final int MAX_POOLED_BUFFERS = 4;
+
+	private final LoggerWrapper logger;
+	private final Deque<byte[]> buffers = new ConcurrentLinkedDeque<>();
+	private final Set<String> knownFolders = ConcurrentHashMap.newKeySet();
+
+	public TransferEngine(final LoggerWrapper logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * @param chunkSize the chunk size in bytes; a regular download is done if 0
+	 * @param retries   the number of times a failed chunk is retried
+	 * @param digest    if not <code>null</code>, updated with every byte transferred
+	 * @return the number of bytes transferred
+	 */
+	public long download(final IFSFile from, final FilePath to, final int chunkSize, final int retries,
+	                     @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		if (chunkSize > 0) {
+			return new ChunkedTransfer(logger, chunkSize, retries).download(from, to, digest);
+		}
+		try (InputStream input = new IFSFileInputStream(from);
+		     OutputStream output = to.write()) {
+			return copy(input, output, digest);
+		}
+	}
+
+	/**
+	 * Downloads a text file, converting it from the CCSID it is tagged with to UTF-8 on the Jenkins side.
+	 * A file that is untagged, or already in UTF-8, is downloaded as it is.
+	 *
+	 * @param digest if not <code>null</code>, updated with every byte transferred
+	 * @return the number of bytes transferred
+	 */
+	public long downloadText(final IFSFile from, final FilePath to, @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		final int ccsid = from.getCCSID();
+		if (!isConvertible(ccsid)) {
+			logger.trace("Downloading %s as it is: its CCSID is %s", from, ccsid);
+			return download(from, to, 0, 0, digest);
+		}
+		logger.trace("Converting %s from CCSID %s to UTF-8", from, ccsid);
+		try (InputStream input = new IFSFileInputStream(from);
+		     OutputStream output = to.write()) {
+			return new TextDecoder(ccsid, from.getSystem()).decode(input, output, digest);
+		}
+	}
+
+	/**
+	 * @return <code>false</code> for the CCSIDs that have nothing to convert to UTF-8: 65535 (binary data or untagged
+	 * file), 0 (unknown) and 1208 (UTF-8 already)
+	 */
+	static boolean isConvertible(final int ccsid) {
+		return ccsid > 0 && ccsid != 65535 && ccsid != 1208;
+	}
+
+	/**
+	 * @param ccsid     the CCSID of the IFS file; the default CCSID is used if -1
+	 * @param chunkSize the chunk size in bytes; a regular upload is done if 0
+	 * @param retries   the number of times a failed chunk is retried
+	 * @param digest    if not <code>null</code>, updated with every byte transferred
+	 * @return the number of bytes transferred
+	 */
+	public long upload(final FilePath from, final IFSFile to, final int ccsid, final int chunkSize, final int retries,
+	                   @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		final IFSFile folder = to.getParentFile();
+		ensureFolder(folder);
+		try {
+			return write(from, to, ccsid, chunkSize, retries, digest);
+		} catch (final IOException e) {
+			//The folder may have been removed since it was cached, e.g. by a shell command of the same session
+			if (folder == null || !knownFolders.contains(folder.getAbsolutePath()) || folder.isDirectory()) {
+				throw e;
+			}
+			logger.trace("IFS folder %s no longer exists, creating it again", folder);
+			knownFolders.clear();
+			ensureFolder(folder);
+			if (digest != null) {
+				digest.reset();
+			}
+			return write(from, to, ccsid, chunkSize, retries, digest);
+		}
+	}
+
+	private long write(final FilePath from, final IFSFile to, final int ccsid, final int chunkSize, final int retries,
+	                   @CheckForNull final MessageDigest digest)
+			throws IOException, AS400SecurityException, InterruptedException {
+		if (chunkSize > 0) {
+			return new ChunkedTransfer(logger, chunkSize, retries).upload(from, to, ccsid, digest);
+		}
+		try (InputStream input = from.read();
+		     OutputStream output = ccsid > -1 ?
+				     new IFSFileOutputStream(to, IFSFileOutputStream.SHARE_ALL, false, ccsid) :
+				     new IFSFileOutputStream(to)) {
+			return copy(input, output, digest);
+		}
+	}
+
+	/**
+	 * Creates an IFS folder and its parents, unless it is already known to exist.
+	 *
+	 * @param folder the IFS folder; nothing is done if <code>null</code>
+	 */
+	public void ensureFolder(@CheckForNull final IFSFile folder) throws IOException {
+		if (folder == null || knownFolders.contains(folder.getAbsolutePath())) {
+			return;
+		}
+
+		if (!folder.mkdirs() && !folder.isDirectory()) {
+			throw new IOException("Failed to create IFS folder " + folder);
+		}
+		logger.trace("IFS folder %s is ready", folder);
+		//The parents of an existing folder exist too
+		IFSFile known = folder;
+		while (known != null && knownFolders.add(known.getAbsolutePath())) {
+			known = known.getParentFile();
+		}
+	}
+
+	private long copy(final InputStream input, final OutputStream output, @CheckForNull final MessageDigest digest)
+			throws IOException {
+		final byte[] buffer = borrowBuffer();
+		try {
+			long bytes = 0;
+			int read;
+			while ((read = input.readNBytes(buffer, 0, buffer.length)) > 0) {
+				output.write(buffer, 0, read);
+				if (digest != null) {
+					digest.update(buffer, 0, read);
+				}
+				bytes += read;
+			}
+			return bytes;
+		} finally {
+			releaseBuffer(buffer);
+		}
+	}
+
+	private byte[] borrowBuffer() {
+		final byte[] buffer = buffers.poll();
+		return buffer != null ? buffer : new byte[BUFFER_SIZE];
+	}
+
+	private void releaseBuffer(final byte[] buffer) {
+		if (buffers.size() < MAX_POOLED_BUFFERS) {
+			buffers.push(buffer);
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.IFSFileFilter;
+import hudson.Util;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Ant-style includes/excludes filter (e.g. <code>**&#47;*.rpgle</code>), evaluated against paths relative to the root of
+ * a transfer. Patterns are comma separated, like the ones used by {@link hudson.FilePath#list(String, String)}.
+ */
+public class TransferFilter implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 2780434528451245963L;
+
+	private final String includes;
+	private final String excludes;
+	private final List<String> includePatterns;
+	private final List<String> excludePatterns;
+	private transient List<Pattern> includeRegexes;
+	private transient List<Pattern> excludeRegexes;
+
+	public TransferFilter(final String includes, final String excludes) {
+		this.includes = Util.fixEmptyAndTrim(includes);
+		this.excludes = Util.fixEmptyAndTrim(excludes);
+		includePatterns = split(this.includes);
+		excludePatterns = split(this.excludes);
+	}
+
+	private static List<String> split(final String patterns) {
+		return Arrays.stream(Util.fixNull(patterns).split(","))
+				.map(String::trim)
+				.filter(pattern -> !pattern.isEmpty())
+				.map(TransferFilter::normalize)
+				.toList();
+	}
+
+	private static String normalize(final String pattern) {
+		String normalized = pattern.replace('\\', '/');
+		while (normalized.startsWith("/")) {
+			normalized = normalized.substring(1);
+		}
+		//Like Ant, a trailing slash means everything under that folder
+		if (normalized.endsWith("/")) {
+			normalized += "**";
+		}
+		return normalized;
+	}
+
+	private static Pattern toRegex(final String pattern) {
+		final StringBuilder regex = new StringBuilder();
+		final String[] segments = pattern.split("/");
+		for (int i = 0; i < segments.length; i++) {
+			final String segment = segments[i];
+			final boolean last = i == segments.length - 1;
+			if (segment.equals("**")) {
+				regex.append(last ? ".*" : "(?:[^/]*/)*");
+			} else {
+				for (final char c : segment.toCharArray()) {
+					switch (c) {
+						case '*' -> regex.append("[^/]*");
+						case '?' -> regex.append("[^/]");
+						default -> regex.append(Pattern.quote(String.valueOf(c)));
+					}
+				}
+				if (!last) {
+					regex.append('/');
+				}
+			}
+		}
+		return Pattern.compile(regex.toString());
+	}
+
+	private static String literalPrefix(final String pattern) {
+		final StringBuilder prefix = new StringBuilder();
+		for (final String segment : pattern.split("/")) {
+			if (segment.contains("*") || segment.contains("?")) {
+				break;
+			}
+			prefix.append(segment).append('/');
+		}
+		return prefix.toString();
+	}
+
+	private List<Pattern> getIncludeRegexes() {
+		if (includeRegexes == null) {
+			includeRegexes = includePatterns.stream().map(TransferFilter::toRegex).toList();
+		}
+		return includeRegexes;
+	}
+
+	private List<Pattern> getExcludeRegexes() {
+		if (excludeRegexes == null) {
+			excludeRegexes = excludePatterns.stream().map(TransferFilter::toRegex).toList();
+		}
+		return excludeRegexes;
+	}
+
+	public String getIncludes() {
+		return includes;
+	}
+
+	public String getExcludes() {
+		return excludes;
+	}
+
+	public boolean isEmpty() {
+		return includePatterns.isEmpty() && excludePatterns.isEmpty();
+	}
+
+	/**
+	 * @param relativePath a file path, relative to the transfer root, using <code>/</code> as separator
+	 * @return <code>true</code> if the file must be transferred
+	 */
+	public boolean acceptFile(final String relativePath) {
+		final boolean included = includePatterns.isEmpty() ||
+				getIncludeRegexes().stream().anyMatch(regex -> regex.matcher(relativePath).matches());
+		return included && getExcludeRegexes().stream().noneMatch(regex -> regex.matcher(relativePath).matches());
+	}
+
+	/**
+	 * @param relativePath a folder path, relative to the transfer root, using <code>/</code> as separator
+	 * @return <code>false</code> if nothing under this folder can be transferred, so it doesn't need to be listed
+	 */
+	public boolean acceptFolder(final String relativePath) {
+		final String folder = relativePath + "/";
+		for (int i = 0; i < excludePatterns.size(); i++) {
+			//Only patterns ending with ** can exclude a whole subtree
+			if (excludePatterns.get(i).endsWith("**") && getExcludeRegexes().get(i).matcher(folder).matches()) {
+				return false;
+			}
+		}
+
+		return includePatterns.isEmpty() || includePatterns.stream()
+				.map(TransferFilter::literalPrefix)
+				.anyMatch(prefix -> prefix.startsWith(folder) || folder.startsWith(prefix));
+	}
+
+	/**
+	 * Builds an {@link IFSFileFilter} that applies this filter on the entries listed under <code>root</code>.
+	 * The filter relies on the attributes cached by the listing, so it doesn't cost any extra request.
+	 * An {@link IFSFileFilter} cannot throw checked exceptions: an entry whose type cannot be read, or that is not
+	 * under <code>root</code>, fails the listing with an {@link UncheckedIOException}.
+	 *
+	 * @param root the IFS root folder of the transfer
+	 * @return an {@link IFSFileFilter}
+	 */
+	public IFSFileFilter toIFSFileFilter(final IFSFile root) {
+		return file -> {
+			final String relativePath = IFSTreeWalker.relativize(root.getAbsolutePath(), file.getAbsolutePath());
+			try {
+				if (relativePath == null) {
+					throw new IOException(Messages.IFSTreeWalker_outside_root(file.getAbsolutePath(),
+							root.getAbsolutePath()));
+				}
+				return file.isDirectory() ? acceptFolder(relativePath) : acceptFile(relativePath);
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return String.format("includes: %s; excludes: %s", Util.fixNull(includes), Util.fixNull(excludes));
+	}
+}
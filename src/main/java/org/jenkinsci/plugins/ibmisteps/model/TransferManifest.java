@@ -0,0 +1,140 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hudson.FilePath;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a chunked transfer, saved next to the local file after each chunk so an interrupted transfer can be
+ * resumed where it stopped. Each completed chunk is recorded with its CRC32 checksum.
+ */
+public class TransferManifest {
+	private static final String SUFFIX = ".ibmi-transfer";
+	/**
+	 * Matches the manifests left next to the local files by interrupted transfers, which must never be uploaded.
+	 */
+	public static final String EXCLUDES = "**/*" + SUFFIX;
+
+	private String target;
+	private long size;
+	private int chunkSize;
+	private List<Long> checksums = new ArrayList<>();
+
+	public TransferManifest() {
+		//For Jackson
+	}
+
+	public TransferManifest(final String target, final long size, final int chunkSize) {
+		this.target = target;
+		this.size = size;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @param localFile the local file being transferred
+	 * @return the manifest file of the given local file
+	 */
+	public static FilePath manifestOf(final FilePath localFile) {
+		return localFile.sibling("." + localFile.getName() + SUFFIX);
+	}
+
+	/**
+	 * Loads the manifest of an interrupted transfer, if it describes the same transfer.
+	 *
+	 * @return the loaded manifest or a new one if none matched
+	 */
+	public static TransferManifest load(final FilePath manifestFile, final String target, final long size,
+	                                    final int chunkSize) throws IOException, InterruptedException {
+		if (manifestFile.exists()) {
+			try {
+				final TransferManifest manifest = new ObjectMapper().readValue(
+						manifestFile.readToString(), TransferManifest.class);
+				if (target.equals(manifest.target) && manifest.size == size && manifest.chunkSize == chunkSize) {
+					return manifest;
+				}
+			} catch (final JsonProcessingException e) {
+				//Unreadable manifest: start over
+			}
+		}
+		return new TransferManifest(target, size, chunkSize);
+	}
+
+	public void save(final FilePath manifestFile) throws IOException, InterruptedException {
+		manifestFile.write(new ObjectMapper().writeValueAsString(this), StandardCharsets.UTF_8.name());
+	}
+
+	public void addChunk(final long checksum) {
+		checksums.add(checksum);
+	}
+
+	public void reset() {
+		checksums.clear();
+	}
+
+	/**
+	 * @return the number of bytes transferred by the completed chunks
+	 */
+	@JsonIgnore
+	public long getTransferredBytes() {
+		return Math.min((long) checksums.size() * chunkSize, size);
+	}
+
+	/**
+	 * @return the offset of the last completed chunk
+	 */
+	@JsonIgnore
+	public long getLastChunkOffset() {
+		return checksums.isEmpty() ? 0 : (long) (checksums.size() - 1) * chunkSize;
+	}
+
+	/**
+	 * @return the length of the last completed chunk, shorter than the others if it ends the file
+	 */
+	@JsonIgnore
+	public int getLastChunkLength() {
+		return (int) (getTransferredBytes() - getLastChunkOffset());
+	}
+
+	@JsonIgnore
+	public long getLastChecksum() {
+		return checksums.isEmpty() ? 0 : checksums.get(checksums.size() - 1);
+	}
+
+	public String getTarget() {
+		return target;
+	}
+
+	public void setTarget(final String target) {
+		this.target = target;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public void setSize(final long size) {
+		this.size = size;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(final int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public List<Long> getChecksums() {
+		return checksums;
+	}
+
+	public void setChecksums(final List<Long> checksums) {
+		this.checksums = new ArrayList<>(checksums);
+	}
+}
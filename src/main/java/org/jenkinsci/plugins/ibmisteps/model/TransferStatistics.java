@@ -0,0 +1,63 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Counts the files and bytes moved by a transfer step, from its creation to the call to {@link #stop()}.
+ */
+public class TransferStatistics implements Serializable {
+	@Serial
+	private static final long serialVersionUID = 4581237693027466329L;
+
+	private final transient long start = System.nanoTime();
+	private int files;
+	private long bytes;
+	private long elapsed;
+
+	public synchronized void add(final long fileBytes) {
+		files++;
+		bytes += fileBytes;
+	}
+
+	public synchronized TransferStatistics stop() {
+		elapsed = (System.nanoTime() - start) / 1000000;
+		return this;
+	}
+
+	public synchronized int getFiles() {
+		return files;
+	}
+
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return the duration of the transfer, in milliseconds
+	 */
+	public synchronized long getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * @return the throughput of the transfer, in MB/s
+	 */
+	public synchronized double getThroughput() {
+		return elapsed > 0 ? bytes / 1048576d / (elapsed / 1000d) : 0;
+	}
+
+	public String toJSON() throws JsonProcessingException {
+		final ObjectMapper objectMapper = new ObjectMapper();
+		return objectMapper.writeValueAsString(this);
+	}
+
+	@Override
+	public String toString() {
+		return Messages.TransferStatistics_summary(getFiles(), getBytes(), getElapsed() / 1000d, getThroughput());
+	}
+}
@@ -0,0 +1,21 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+public enum TransferVerification {
+
+	NONE(Messages::TransferVerification_none),
+	SHA256(Messages::TransferVerification_sha256);
+
+	private final Supplier<String> displayNameSupplier;
+
+	TransferVerification(final Supplier<String> displayNameSupplier) {
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
@@ -0,0 +1,117 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.IFSFile;
+import hudson.AbortException;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Verifies the SHA-256 digests computed on the fly during transfers against the digests of the IFS files.
+ * The IFS digests are computed by one <code>sha256sum</code> PASE command per folder rather than one per file.
+ */
+public class TransferVerifier {
+	static final String SHA256SUM = "/QOpenSys/pkgs/bin/sha256sum";
+	//QSH CMD is limited to 5000 characters, leaving room for the rest of the command string
+	static final int MAX_COMMAND_LENGTH = 4000;
+
+	private final Map<String, String> expectedDigests = new LinkedHashMap<>();
+
+	public MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Records the digest computed while transferring an IFS file.
+	 *
+	 * @param file   the IFS file
+	 * @param digest the digest updated with every byte transferred
+	 */
+	public void record(final IFSFile file, final MessageDigest digest) {
+		expectedDigests.put(file.getAbsolutePath(), HexFormat.of().formatHex(digest.digest()));
+	}
+
+	public void verify(final IBMi ibmi, final LoggerWrapper logger)
+			throws IOException, AS400SecurityException, InterruptedException, ErrorCompletingRequestException {
+		final Map<String, List<String>> folders = new LinkedHashMap<>();
+		for (final String path : expectedDigests.keySet()) {
+			final int separator = path.lastIndexOf('/');
+			folders.computeIfAbsent(separator > 0 ? path.substring(0, separator) : "/", folder -> new ArrayList<>())
+					.add(path.substring(separator + 1));
+		}
+
+		final List<String> mismatches = new ArrayList<>();
+		for (final Map.Entry<String, List<String>> folder : folders.entrySet()) {
+			final Map<String, String> remoteDigests = computeDigests(ibmi, folder.getKey(), folder.getValue());
+			for (final String name : folder.getValue()) {
+				final String path = folder.getKey().endsWith("/") ? folder.getKey() + name : folder.getKey() + "/" + name;
+				final String expected = expectedDigests.get(path);
+				final String actual = remoteDigests.get(name);
+				if (!expected.equalsIgnoreCase(Objects.toString(actual, ""))) {
+					mismatches.add(String.format("%s (expected %s, got %s)", path, expected, actual));
+				}
+			}
+		}
+
+		if (!mismatches.isEmpty()) {
+			throw new AbortException(Messages.TransferVerifier_mismatch(mismatches.size(), String.join("\n", mismatches)));
+		}
+		logger.log(Messages.TransferVerifier_verified(expectedDigests.size()));
+	}
+
+	private Map<String, String> computeDigests(final IBMi ibmi, final String folder, final List<String> names)
+			throws IOException, AS400SecurityException, InterruptedException, ErrorCompletingRequestException {
+		final Map<String, String> digests = new HashMap<>();
+		for (final String command : commands(folder, names)) {
+			final ShellExec result = ibmi.executeShellCommand(command);
+			if (result.code() != 0) {
+				throw new AbortException(Messages.TransferVerifier_failed(folder, result.code(), result.output()));
+			}
+			//sha256sum prints "<digest>  <file name>" for each file
+			result.output().lines()
+					.filter(line -> line.length() > 66)
+					.forEach(line -> digests.put(line.substring(66), line.substring(0, 64)));
+		}
+		return digests;
+	}
+
+	/**
+	 * Splits the <code>sha256sum</code> of the files of a folder into commands short enough for QSH CMD, once their
+	 * quotes are doubled by {@link IBMi#executeShellCommand(String)}.
+	 */
+	static List<String> commands(final String folder, final List<String> names) {
+		final List<String> commands = new ArrayList<>();
+		final String prefix = "cd " + quote(folder) + " && " + SHA256SUM;
+		final StringBuilder command = new StringBuilder(prefix);
+		int length = IBMi.shellCommandLength(prefix);
+		for (final String name : names) {
+			final String argument = " " + quote(name);
+			//Checked before appending, so a command holds at least one file
+			if (command.length() > prefix.length() && length + IBMi.shellCommandLength(argument) > MAX_COMMAND_LENGTH) {
+				commands.add(command.toString());
+				command.setLength(0);
+				command.append(prefix);
+				length = IBMi.shellCommandLength(prefix);
+			}
+			command.append(argument);
+			length += IBMi.shellCommandLength(argument);
+		}
+		if (command.length() > prefix.length()) {
+			commands.add(command.toString());
+		}
+		return commands;
+	}
+
+	private static String quote(final String value) {
+		return "'" + value.replace("'", "'\\''") + "'";
+	}
+}
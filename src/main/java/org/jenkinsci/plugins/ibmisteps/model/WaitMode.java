@@ -0,0 +1,21 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.Messages;
+
+import java.util.function.Supplier;
+
+public enum WaitMode {
+
+	ALL(Messages::WaitMode_all),
+	ANY(Messages::WaitMode_any);
+
+	private final Supplier<String> displayNameSupplier;
+
+	WaitMode(final Supplier<String> displayNameSupplier) {
+		this.displayNameSupplier = displayNameSupplier;
+	}
+
+	public String getDisplayName() {
+		return displayNameSupplier.get();
+	}
+}
@@ -0,0 +1,213 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import com.ibm.as400.access.AS400;
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import com.ibm.as400.access.SaveFile;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Run;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.BuildCache;
+import org.jenkinsci.plugins.ibmisteps.model.BuildCacheAction;
+import org.jenkinsci.plugins.ibmisteps.model.BuildCacheResult;
+import org.jenkinsci.plugins.ibmisteps.model.CallResult;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.SaveCompression;
+import org.jenkinsci.plugins.ibmisteps.model.TransferStatistics;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiSaveFileStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.List;
+
+public class IBMiCachedBuildStep extends IBMiSaveFileStep<BuildCacheResult> {
+	@Serial
+	private static final long serialVersionUID = 3390810347465316702L;
+
+	private final String command;
+	private final String sources;
+	private final String library;
+	private final String objects;
+	private String objectTypes = "*ALL";
+	private String targetRelease = "*CURRENT";
+	private SaveCompression compression = SaveCompression.HIGH;
+
+	@DataBoundConstructor
+	public IBMiCachedBuildStep(final String command, final String sources, final String library,
+	                           final String objects) {
+		this.command = command.trim();
+		this.sources = sources.trim();
+		this.library = library.trim().toUpperCase();
+		this.objects = Util.fixEmptyAndTrim(objects) != null ? objects.trim().toUpperCase() : "*ALL";
+	}
+
+	public String getCommand() {
+		return command;
+	}
+
+	public String getSources() {
+		return sources;
+	}
+
+	public String getLibrary() {
+		return library;
+	}
+
+	public String getObjects() {
+		return objects;
+	}
+
+	public String getObjectTypes() {
+		return objectTypes;
+	}
+
+	@DataBoundSetter
+	public void setObjectTypes(final String objectTypes) {
+		this.objectTypes = Util.fixEmptyAndTrim(objectTypes) != null ? objectTypes.trim().toUpperCase() : "*ALL";
+	}
+
+	public String getTargetRelease() {
+		return targetRelease;
+	}
+
+	@DataBoundSetter
+	public void setTargetRelease(final String targetRelease) {
+		this.targetRelease = Util.fixEmptyAndTrim(targetRelease) != null ? targetRelease.trim().toUpperCase() :
+				"*CURRENT";
+	}
+
+	public SaveCompression getCompression() {
+		return compression;
+	}
+
+	@DataBoundSetter
+	public void setCompression(final SaveCompression compression) {
+		this.compression = compression != null ? compression : SaveCompression.HIGH;
+	}
+
+	@Override
+	protected BuildCacheResult runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
+		final BuildCache cache = BuildCache.get();
+		final BuildCacheAction statistics = BuildCacheAction.of(context.get(Run.class));
+		//The cache is shared by every IBM i: the entries are only restored on the system and release they were saved for
+		final AS400 connection = ibmi.getIbmiConnection();
+		final String release = BuildCache.resolveRelease(targetRelease, connection.getVersion(),
+				connection.getRelease(), connection.getModification());
+		final String key = BuildCache.key(context.get(FilePath.class), sources, command, release, library,
+				toList(objects), toList(objectTypes), connection.getSystemName().toUpperCase());
+		logger.trace("Build cache key: %s", key);
+
+		final FilePath entry = cache.lookup(key);
+		if (entry != null) {
+			logger.log(Messages.IBMiCachedBuildStep_hit(objects, library, entry.length()));
+			if (restore(logger, ibmi, entry)) {
+				statistics.hit(entry.length());
+				logger.log(statistics.toString());
+				return new BuildCacheResult(key, true, null);
+			}
+		}
+
+		logger.log(Messages.IBMiCachedBuildStep_miss(command));
+		final CallResult buildResult = ibmi.executeCommand(command);
+		if (!buildResult.isSuccessful()) {
+			statistics.miss(0);
+			logger.error(buildResult.getPrettyMessages("\t"));
+			throw new AbortException(Messages.IBMICommandStep_failed(command));
+		}
+
+		statistics.miss(store(logger, ibmi, cache, key));
+		logger.log(statistics.toString());
+		return new BuildCacheResult(key, false, buildResult);
+	}
+
+	/**
+	 * @return <code>false</code> if the objects could not be restored: they must be built instead
+	 */
+	private boolean restore(final LoggerWrapper logger, final IBMi ibmi, final FilePath entry)
+			throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final SaveFile saveFile = createTempSaveFile(logger, ibmi);
+		try {
+			uploadSaveFile(logger, ibmi, entry, saveFile, null, new TransferStatistics());
+			final String restoreCommand = String.format(
+					"RSTOBJ OBJ(%s) SAVLIB(%s) DEV(*SAVF) SAVF(%s/%s) OBJTYPE(%s) MBROPT(*ALL) ALWOBJDIF(*ALL)",
+					toList(objects), library, saveFile.getLibrary(), saveFile.getName(), toList(objectTypes));
+			logger.trace("Running " + restoreCommand);
+			final CallResult restoreResult = ibmi.executeCommand(restoreCommand);
+			if (!restoreResult.isSuccessful()) {
+				logger.error(Messages.IBMiCachedBuildStep_RSTOBJ_failed(objects, library,
+						restoreResult.getPrettyMessages()));
+				return false;
+			}
+			return true;
+		} finally {
+			logger.trace("Deleting temporary Save File %s", saveFile.getPath());
+			saveFile.delete();
+		}
+	}
+
+	/**
+	 * Saves the built objects into the cache. Failing to do so does not fail the step: the objects are built.
+	 *
+	 * @return the size of the new entry, or 0 if it could not be stored
+	 */
+	private long store(final LoggerWrapper logger, final IBMi ibmi, final BuildCache cache, final String key)
+			throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final SaveFile saveFile = createTempSaveFile(logger, ibmi);
+		try {
+			final String saveCommand = String.format(
+					"SAVOBJ OBJ(%s) LIB(%s) DEV(*SAVF) SAVF(%s/%s) OBJTYPE(%s) TGTRLS(%s) DTACPR(%s)",
+					toList(objects), library, saveFile.getLibrary(), saveFile.getName(), toList(objectTypes),
+					targetRelease, compression.getValue());
+			logger.trace("Running " + saveCommand);
+			final CallResult saveResult = ibmi.executeCommand(saveCommand);
+			if (!saveResult.isSuccessful()) {
+				logger.error(Messages.IBMiCachedBuildStep_store_failed(key,
+						Messages.IBMiSaveObjectsStep_SAVOBJ_failed(objects, library, saveResult.getPrettyMessages())));
+				return 0;
+			}
+
+			final FilePath entry = cache.newEntry(key);
+			try {
+				downloadSaveFile(logger, ibmi, saveFile, entry, null, new TransferStatistics());
+				final long size = entry.length();
+				final List<String> evicted = cache.store(entry, key);
+				logger.log(Messages.IBMiCachedBuildStep_stored(objects, library, size));
+				evicted.forEach(evictedKey -> logger.trace("Evicted build cache entry %s", evictedKey));
+				return size;
+			} catch (final IOException e) {
+				entry.delete();
+				logger.error(Messages.IBMiCachedBuildStep_store_failed(key, e.getLocalizedMessage()));
+				return 0;
+			}
+		} finally {
+			logger.trace("Deleting temporary Save File %s", saveFile.getPath());
+			saveFile.delete();
+		}
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiCachedBuild";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiCachedBuildStep_description();
+		}
+	}
+}
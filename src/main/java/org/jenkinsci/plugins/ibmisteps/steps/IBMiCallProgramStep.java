@@ -0,0 +1,115 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.IBMiMessage;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import com.ibm.as400.access.QSYSObjectPathName;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.ProgramCallResult;
+import org.jenkinsci.plugins.ibmisteps.model.ProgramParameterSpec;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IBMiCallProgramStep extends IBMiStep<ProgramCallResult> {
+	@Serial
+	private static final long serialVersionUID = -5520914406270893562L;
+
+	private final String program;
+	private List<ProgramParameterSpec> parameters = new ArrayList<>();
+	private boolean failOnError = true;
+
+	/**
+	 * @param program the program to call: <code>library/program</code>, or <code>program</code> to find it in the
+	 *                library list
+	 */
+	@DataBoundConstructor
+	public IBMiCallProgramStep(final String program) {
+		this.program = program.trim().toUpperCase();
+	}
+
+	public String getProgram() {
+		return program;
+	}
+
+	public List<ProgramParameterSpec> getParameters() {
+		return parameters;
+	}
+
+	@DataBoundSetter
+	public void setParameters(final List<ProgramParameterSpec> parameters) {
+		this.parameters = parameters != null ? new ArrayList<>(parameters) : new ArrayList<>();
+	}
+
+	public boolean isFailOnError() {
+		return failOnError;
+	}
+
+	@DataBoundSetter
+	public void setFailOnError(final boolean failOnError) {
+		this.failOnError = failOnError;
+	}
+
+	@Override
+	protected ProgramCallResult runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
+		final String[] names = program.split("/");
+		if (names.length > 2 || names[names.length - 1].isBlank()) {
+			throw new AbortException(Messages.IBMiCallProgramStep_invalid_program(program));
+		}
+		final String path = QSYSObjectPathName.toPath(names.length == 2 ? names[0] : "*LIBL", names[names.length - 1],
+				"PGM");
+
+		logger.log(Messages.IBMiCallProgramStep_running(program, parameters.size()));
+		logger.trace("Parameters: %s", parameters);
+		final ProgramCallResult result = ibmi.callProgram(path, parameters);
+		if (result.isSuccessful()) {
+			logger.log(Messages.IBMiCallProgramStep_succeeded(program, result.getElapsed()));
+			logger.trace("Returned values: %s", result.getParameters());
+		} else {
+			final IBMiMessage lastMessage = result.getLastMessage();
+			final String error;
+			if (lastMessage != null) {
+				error = Messages.IBMiCallProgramStep_failed_with_message(program, lastMessage.getID(),
+						lastMessage.getText());
+			} else {
+				error = Messages.IBMiCallProgramStep_failed(program);
+			}
+			if (!failOnError) {
+				logger.error(error);
+				logger.trace(result.getPrettyMessages());
+			} else {
+				logger.error(Messages.IBMiCallProgramStep_failed(program) + "\n" + result.getPrettyMessages("\t"));
+				throw new AbortException(error);
+			}
+		}
+
+		return result;
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiCallProgram";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiCallProgramStep_description();
+		}
+	}
+}
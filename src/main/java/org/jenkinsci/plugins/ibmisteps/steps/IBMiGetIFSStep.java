@@ -1,29 +1,43 @@
 package org.jenkinsci.plugins.ibmisteps.steps;
 
 import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
 import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.AbortException;
 import hudson.Extension;
 import hudson.FilePath;
+import hudson.Util;
 import org.jenkinsci.plugins.ibmisteps.Messages;
 import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IFSTree;
 import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
-import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
+import org.jenkinsci.plugins.ibmisteps.model.TransferFilter;
+import org.jenkinsci.plugins.ibmisteps.model.TransferStatistics;
+import org.jenkinsci.plugins.ibmisteps.model.TransferVerifier;
 import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiTransferStep;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 
 import java.io.IOException;
 import java.io.Serial;
+import java.security.MessageDigest;
+import java.sql.SQLException;
 import java.text.MessageFormat;
 
-public class IBMiGetIFSStep extends IBMiStep<Void> {
+public class IBMiGetIFSStep extends IBMiTransferStep<TransferStatistics> {
 	@Serial
 	private static final long serialVersionUID = -6721839340320567902L;
 
 	private final String from;
 	private final String to;
+	private String includes;
+	private String excludes;
+	private String text;
 
 	@DataBoundConstructor
 	public IBMiGetIFSStep(final String from, final String to) {
@@ -39,8 +53,38 @@ public class IBMiGetIFSStep extends IBMiStep<Void> {
 		return to;
 	}
 
+	public String getIncludes() {
+		return includes;
+	}
+
+	@DataBoundSetter
+	public void setIncludes(final String includes) {
+		this.includes = includes;
+	}
+
+	public String getExcludes() {
+		return excludes;
+	}
+
+	@DataBoundSetter
+	public void setExcludes(final String excludes) {
+		this.excludes = excludes;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @param text Ant-style patterns of the text files to convert to UTF-8 on the Jenkins side
+	 */
+	@DataBoundSetter
+	public void setText(final String text) {
+		this.text = text;
+	}
+
 	@Override
-	protected Void runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws IOException, InterruptedException, AS400SecurityException {
+	protected TransferStatistics runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws IOException, InterruptedException, AS400SecurityException, SQLException, ObjectDoesNotExistException, ErrorCompletingRequestException {
 		final IFSFile fromIFS = new IFSFile(ibmi.getIbmiConnection(), from);
 		if (!fromIFS.exists()) {
 			throw new AbortException(Messages.IBMiGetIFSStep_from_not_found(fromIFS));
@@ -56,37 +100,56 @@ public class IBMiGetIFSStep extends IBMiStep<Void> {
 			throw new AbortException(Messages.IBMiGetIFSStep_to_is_file(toPath));
 		}
 
+		final TransferVerifier verifier = newVerifier();
+		final TransferStatistics statistics = new TransferStatistics();
+		final TransferFilter textFilter = Util.fixEmptyAndTrim(text) != null ? new TransferFilter(text, null) : null;
 		if (fromIFS.isDirectory()) {
+			final TransferFilter filter = new TransferFilter(includes, excludes);
 			logger.log(Messages.IBMiGetIFSStep_copy_folder(fromIFS, toPath));
-			getFolder(logger, ibmi, fromIFS, toPath);
+			if (!filter.isEmpty()) {
+				logger.trace("Filtering IFS entries with %s", filter);
+			}
+			getFolder(logger, ibmi, ibmi.listTree(fromIFS, filter), toPath, textFilter, verifier, statistics);
 		} else if (fromIFS.isFile()) {
 			logger.log(Messages.IBMiGetIFSStep_copy_file(fromIFS, toPath));
-			getFile(logger, ibmi, fromIFS, toPath);
+			getFile(logger, ibmi, fromIFS, fromIFS.length(), toPath.child(fromIFS.getName()),
+					textFilter != null && textFilter.acceptFile(fromIFS.getName()), verifier, statistics);
 		}
 
-		return null;
+		if (verifier != null) {
+			verifier.verify(ibmi, logger);
+		}
+
+		logger.log(statistics.stop().toString());
+		return statistics;
 	}
 
-	private void getFile(final LoggerWrapper logger, final IBMi ibmi, final IFSFile ifsFile, final FilePath folder)
-			throws IOException, AS400SecurityException, InterruptedException {
-		final FilePath targetFile = folder.child(ifsFile.getName());
-		if (targetFile.exists()) {
-			targetFile.delete();
+	/**
+	 * @param convert <code>true</code> if the file is text to convert to UTF-8; it is then downloaded in one go, even if
+	 *                a chunk size is set
+	 */
+	private void getFile(final LoggerWrapper logger, final IBMi ibmi, final IFSFile ifsFile, final long size,
+	                     final FilePath targetFile, final boolean convert, @CheckForNull final TransferVerifier verifier,
+	                     final TransferStatistics statistics) throws IOException, AS400SecurityException, InterruptedException {
+		logger.trace(MessageFormat.format("Getting {0} into {1} ({2} bytes)", ifsFile, targetFile, size));
+		final MessageDigest digest = verifier != null ? verifier.newDigest() : null;
+		statistics.add(convert ?
+				ibmi.downloadText(ifsFile, targetFile, digest) :
+				ibmi.download(ifsFile, targetFile, getChunkSizeBytes(), getRetries(), digest));
+		if (verifier != null) {
+			verifier.record(ifsFile, digest);
 		}
-
-		logger.trace(MessageFormat.format("Getting {0} into {1} ({2} bytes)", ifsFile, targetFile, ifsFile.length()));
-		ibmi.download(ifsFile, targetFile);
 	}
 
-	private void getFolder(final LoggerWrapper logger, final IBMi ibmi, final IFSFile ifsFolder,
-	                       final FilePath folder) throws IOException, InterruptedException, AS400SecurityException {
-		ifsFolder.setPatternMatching(IFSFile.PATTERN_POSIX_ALL);
-		for (final IFSFile item : ifsFolder.listFiles()) {
-			if (item.isDirectory()) {
-				getFolder(logger, ibmi, item, folder.child(item.getName()));
-			} else if (item.isFile()) {
-				getFile(logger, ibmi, item, folder);
-			}
+	private void getFolder(final LoggerWrapper logger, final IBMi ibmi, final IFSTree tree, final FilePath folder,
+	                       @CheckForNull final TransferFilter textFilter, @CheckForNull final TransferVerifier verifier,
+	                       final TransferStatistics statistics)
+			throws IOException, InterruptedException, AS400SecurityException {
+		//Everything is planned from the tree index: no more requests are needed to list or check the entries
+		for (final IFSTree.IFSEntry entry : tree.getFiles()) {
+			getFile(logger, ibmi, new IFSFile(ibmi.getIbmiConnection(), entry.path()), entry.size(),
+					folder.child(entry.relativePath()),
+					textFilter != null && textFilter.acceptFile(entry.relativePath()), verifier, statistics);
 		}
 	}
 
@@ -0,0 +1,79 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.FilePath;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileContent;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileSpec;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiSaveFileStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IBMiGetSAVFsStep extends IBMiSaveFileStep<List<SaveFileContent>> {
+	@Serial
+	private static final long serialVersionUID = 4302164512386710559L;
+
+	private final List<SaveFileSpec> saveFiles;
+	private int parallelism = 4;
+	private boolean direct;
+
+	@DataBoundConstructor
+	public IBMiGetSAVFsStep(final List<SaveFileSpec> saveFiles) {
+		this.saveFiles = saveFiles != null ? new ArrayList<>(saveFiles) : new ArrayList<>();
+	}
+
+	public List<SaveFileSpec> getSaveFiles() {
+		return saveFiles;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@DataBoundSetter
+	public void setParallelism(final int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public boolean isDirect() {
+		return direct;
+	}
+
+	@DataBoundSetter
+	public void setDirect(final boolean direct) {
+		this.direct = direct;
+	}
+
+	@Override
+	protected List<SaveFileContent> runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi)
+			throws IOException, InterruptedException {
+		final FilePath workspace = context.get(FilePath.class);
+		return transferAll(context, logger, ibmi, saveFiles, parallelism, (session, saveFile) ->
+				getSaveFile(logger, session, saveFile.getLibrary(), saveFile.getName(), workspace.child(saveFile.getFile()),
+						direct));
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiGetSAVFs";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiGetSAVFsStep_description();
+		}
+	}
+}
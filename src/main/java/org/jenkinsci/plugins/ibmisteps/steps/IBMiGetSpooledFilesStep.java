@@ -5,13 +5,21 @@ import com.ibm.as400.access.ErrorCompletingRequestException;
 import com.ibm.as400.access.ObjectDoesNotExistException;
 import com.ibm.as400.access.list.OpenListException;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
 import hudson.Extension;
 import hudson.FilePath;
+import hudson.Util;
+import hudson.model.TaskListener;
 import org.jenkinsci.plugins.ibmisteps.Messages;
 import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiContext;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiJob;
 import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.SessionPool;
+import org.jenkinsci.plugins.ibmisteps.model.SpooledFileFilter;
 import org.jenkinsci.plugins.ibmisteps.model.SpooledFileHandler;
 import org.jenkinsci.plugins.ibmisteps.model.SpooledFiles;
+import org.jenkinsci.plugins.ibmisteps.model.TextConversion;
 import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
 import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
@@ -21,24 +29,33 @@ import org.kohsuke.stapler.DataBoundSetter;
 import java.io.IOException;
 import java.io.Serial;
 import java.sql.SQLException;
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class IBMiGetSpooledFilesStep extends IBMiStep<SpooledFiles> {
 	@Serial
 	private static final long serialVersionUID = 1880307039400864220L;
 
-	private final String jobName;
-	private final String jobNumber;
-	private final String jobUser;
 	private final String to;
+	private String jobName;
+	private String jobNumber;
+	private String jobUser;
+	private List<String> jobs = new ArrayList<>();
 	private boolean clearTo;
+	private int fetchSize = 1000;
+	private int parallelism = 1;
+	private TextConversion conversion = TextConversion.IBMI;
+	private String names;
+	private String userData;
+	private long minSize;
+	private long maxSize;
+	private String status = "*READY";
 
 	@DataBoundConstructor
-	public IBMiGetSpooledFilesStep(final String jobName, final String jobNumber, final String jobUser,
-	                               final String to) {
-		this.jobName = jobName.trim().toUpperCase();
-		this.jobUser = jobUser.trim().toUpperCase();
-		this.jobNumber = jobNumber.trim().toUpperCase();
+	public IBMiGetSpooledFilesStep(final String to) {
 		this.to = to;
 	}
 
@@ -46,14 +63,41 @@ public class IBMiGetSpooledFilesStep extends IBMiStep<SpooledFiles> {
 		return jobName;
 	}
 
+	@DataBoundSetter
+	public void setJobName(final String jobName) {
+		this.jobName = Util.fixEmptyAndTrim(jobName) != null ? jobName.trim().toUpperCase() : null;
+	}
+
 	public String getJobNumber() {
 		return jobNumber;
 	}
 
+	@DataBoundSetter
+	public void setJobNumber(final String jobNumber) {
+		this.jobNumber = Util.fixEmptyAndTrim(jobNumber) != null ? jobNumber.trim().toUpperCase() : null;
+	}
+
 	public String getJobUser() {
 		return jobUser;
 	}
 
+	@DataBoundSetter
+	public void setJobUser(final String jobUser) {
+		this.jobUser = Util.fixEmptyAndTrim(jobUser) != null ? jobUser.trim().toUpperCase() : null;
+	}
+
+	public List<String> getJobs() {
+		return jobs;
+	}
+
+	/**
+	 * @param jobs qualified job names (<code>number/user/name</code>)
+	 */
+	@DataBoundSetter
+	public void setJobs(final List<String> jobs) {
+		this.jobs = jobs != null ? new ArrayList<>(jobs) : new ArrayList<>();
+	}
+
 	public String getTo() {
 		return to;
 	}
@@ -67,11 +111,86 @@ public class IBMiGetSpooledFilesStep extends IBMiStep<SpooledFiles> {
 		this.clearTo = clearTo;
 	}
 
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	@DataBoundSetter
+	public void setFetchSize(final int fetchSize) {
+		this.fetchSize = Math.max(1, fetchSize);
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@DataBoundSetter
+	public void setParallelism(final int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public TextConversion getConversion() {
+		return conversion;
+	}
+
+	@DataBoundSetter
+	public void setConversion(final TextConversion conversion) {
+		this.conversion = conversion != null ? conversion : TextConversion.IBMI;
+	}
+
+	public String getNames() {
+		return names;
+	}
+
+	@DataBoundSetter
+	public void setNames(final String names) {
+		this.names = Util.fixEmptyAndTrim(names);
+	}
+
+	public String getUserData() {
+		return userData;
+	}
+
+	@DataBoundSetter
+	public void setUserData(final String userData) {
+		this.userData = Util.fixEmptyAndTrim(userData);
+	}
+
+	public long getMinSize() {
+		return minSize;
+	}
+
+	@DataBoundSetter
+	public void setMinSize(final long minSize) {
+		this.minSize = Math.max(0, minSize);
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	@DataBoundSetter
+	public void setMaxSize(final long maxSize) {
+		this.maxSize = Math.max(0, maxSize);
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	@DataBoundSetter
+	public void setStatus(final String status) {
+		this.status = Util.fixEmptyAndTrim(status) != null ? status.trim().toUpperCase() : "*READY";
+	}
+
 	@Override
 	protected SpooledFiles runOnIBMi(final StepContext stepContext, final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException, SQLException, OpenListException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
-		logger.log(Messages.IBMiGetSpooledFiles_getting(jobNumber, jobUser, jobName));
+		final List<IBMiJob> jobList = getJobList();
+		logger.log(Messages.IBMiGetSpooledFiles_getting(
+				jobList.stream().map(IBMiJob::toString).collect(Collectors.joining(", "))));
 		final SpooledFileHandler spooledFileHandler = ibmi.getSpooledFileHandler();
-		final SpooledFiles spooledFiles = spooledFileHandler.listSpooledFiles(ibmi, jobNumber, jobUser, jobName);
+		final SpooledFiles spooledFiles = spooledFileHandler.listSpooledFiles(ibmi, jobList,
+				new SpooledFileFilter(names, userData, minSize, maxSize, status));
 
 		final FilePath toFolder = stepContext.get(FilePath.class).child(to);
 		if (toFolder.exists() && clearTo) {
@@ -79,17 +198,77 @@ public class IBMiGetSpooledFilesStep extends IBMiStep<SpooledFiles> {
 			logger.trace("Cleared target directory %s", toFolder);
 		}
 		toFolder.mkdirs();
+		//The spooled files of each job go into their own folder when there are several jobs
+		final boolean jobFolders = jobList.size() > 1;
+		final Function<SpooledFiles.SpooledFile, FilePath> targets = spooledFile -> (jobFolders ?
+				toFolder.child(String.format("%s_%s_%s", spooledFile.getJobNumber(), spooledFile.getJobUser(),
+						spooledFile.getJobName())) :
+				toFolder).child(spooledFile.getFileName());
 
-		for (final SpooledFiles.SpooledFile spooledFile : spooledFiles) {
-			final FilePath toFile = toFolder.child(spooledFile.getFileName());
-			logger.trace(MessageFormat.format("Writing {0} ({1}) into {2}", spooledFile.getName(), spooledFile.getNumber(), toFile));
-			spooledFileHandler.writeSpooledFile(ibmi, spooledFile, toFile);
+		final long bytes;
+		final int sessions = Math.min(parallelism, spooledFiles.size());
+		if (sessions > 1) {
+			logger.log(Messages.IBMiGetSpooledFiles_parallel(spooledFiles.size(), sessions));
+			try (SessionPool pool = new SessionPool(stepContext.get(IBMiContext.class),
+					stepContext.get(TaskListener.class), ibmi, sessions)) {
+				bytes = pool.map(partition(spooledFiles, sessions), (session, batch) ->
+								spooledFileHandler.writeSpooledFiles(session, logger, batch, targets, fetchSize,
+										conversion))
+						.stream().mapToLong(Long::longValue).sum();
+			}
+		} else {
+			bytes = spooledFileHandler.writeSpooledFiles(ibmi, logger, spooledFiles, targets, fetchSize, conversion);
 		}
-
-		logger.log(Messages.IBMiGetSpooledFiles_count(spooledFiles.size(), toFolder));
+		logger.log(Messages.IBMiGetSpooledFiles_count(spooledFiles.size(), toFolder, bytes));
 		return spooledFiles;
 	}
 
+	/**
+	 * @return the jobs set by <code>jobs</code>, followed by the one set by <code>jobNumber</code>, <code>jobUser</code>
+	 * and <code>jobName</code>
+	 */
+	private List<IBMiJob> getJobList() throws AbortException {
+		final List<IBMiJob> jobList = new ArrayList<>();
+		for (final String job : jobs) {
+			jobList.add(IBMiJob.parse(job));
+		}
+		if (jobName != null || jobNumber != null || jobUser != null) {
+			if (jobName == null || jobNumber == null || jobUser == null) {
+				throw new AbortException(Messages.IBMiGetSpooledFiles_incomplete_job());
+			}
+			jobList.add(new IBMiJob(jobNumber, jobUser, jobName));
+		}
+		if (jobList.isEmpty()) {
+			throw new AbortException(Messages.IBMiGetSpooledFiles_no_job());
+		}
+		return jobList;
+	}
+
+	/**
+	 * Splits the spooled files into batches of about the same total size, largest spooled files first.
+	 */
+	private static List<SpooledFiles> partition(final SpooledFiles spooledFiles, final int count) {
+		final List<SpooledFiles> batches = new ArrayList<>();
+		final long[] batchSizes = new long[count];
+		for (int i = 0; i < count; i++) {
+			batches.add(new SpooledFiles());
+		}
+
+		final List<SpooledFiles.SpooledFile> bySize = new ArrayList<>(spooledFiles);
+		bySize.sort(Comparator.comparingLong(SpooledFiles.SpooledFile::getSize).reversed());
+		for (final SpooledFiles.SpooledFile spooledFile : bySize) {
+			int smallest = 0;
+			for (int i = 1; i < count; i++) {
+				if (batchSizes[i] < batchSizes[smallest]) {
+					smallest = i;
+				}
+			}
+			batches.get(smallest).add(spooledFile);
+			batchSizes[smallest] += spooledFile.getSize();
+		}
+		return batches;
+	}
+
 	@Extension
 	public static class DescriptorImpl extends IBMiStepDescriptor {
 
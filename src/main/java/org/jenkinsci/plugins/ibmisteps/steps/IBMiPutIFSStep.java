@@ -1,17 +1,24 @@
 package org.jenkinsci.plugins.ibmisteps.steps;
 
 import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
 import com.ibm.as400.access.IFSFile;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.AbortException;
 import hudson.Extension;
 import hudson.FilePath;
+import hudson.Util;
 import hudson.util.FormValidation;
 import org.jenkinsci.plugins.ibmisteps.Messages;
 import org.jenkinsci.plugins.ibmisteps.model.IBMi;
 import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
-import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
+import org.jenkinsci.plugins.ibmisteps.model.TransferFilter;
+import org.jenkinsci.plugins.ibmisteps.model.TransferManifest;
+import org.jenkinsci.plugins.ibmisteps.model.TransferStatistics;
+import org.jenkinsci.plugins.ibmisteps.model.TransferVerifier;
 import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiTransferStep;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
@@ -20,9 +27,10 @@ import org.kohsuke.stapler.interceptor.RequirePOST;
 
 import java.io.IOException;
 import java.io.Serial;
+import java.security.MessageDigest;
 import java.text.MessageFormat;
 
-public class IBMiPutIFSStep extends IBMiStep<Void> {
+public class IBMiPutIFSStep extends IBMiTransferStep<TransferStatistics> {
 	@Serial
 	private static final long serialVersionUID = 1011610851208715193L;
 
@@ -30,6 +38,8 @@ public class IBMiPutIFSStep extends IBMiStep<Void> {
 	private final String to;
 	private int ccsid = 1208;
 	private String baseDir;
+	private String includes;
+	private String excludes;
 
 	@DataBoundConstructor
 	public IBMiPutIFSStep(final String from, final String to) {
@@ -53,6 +63,24 @@ public class IBMiPutIFSStep extends IBMiStep<Void> {
 		return baseDir;
 	}
 
+	public String getIncludes() {
+		return includes;
+	}
+
+	public String getExcludes() {
+		return excludes;
+	}
+
+	@DataBoundSetter
+	public void setIncludes(final String includes) {
+		this.includes = includes;
+	}
+
+	@DataBoundSetter
+	public void setExcludes(final String excludes) {
+		this.excludes = excludes;
+	}
+
 	@DataBoundSetter
 	public void setCcsid(final int ccsid) {
 		this.ccsid = ccsid;
@@ -64,7 +92,8 @@ public class IBMiPutIFSStep extends IBMiStep<Void> {
 	}
 
 	@Override
-	protected Void runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws IOException, InterruptedException, AS400SecurityException {
+	protected TransferStatistics runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi)
+			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException {
 		final FilePath fromPath = context.get(FilePath.class).child(from).absolutize();
 		if (!fromPath.exists()) {
 			throw new AbortException(Messages.IBMiPutIFSStep_from_not_found(fromPath));
@@ -80,15 +109,22 @@ public class IBMiPutIFSStep extends IBMiStep<Void> {
 			throw new AbortException(Messages.IBMiPutIFSStep_to_is_file(fromPath));
 		}
 
+		final TransferVerifier verifier = newVerifier();
+		final TransferStatistics statistics = new TransferStatistics();
 		if (fromPath.isDirectory()) {
 			logger.log(Messages.IBMiPutIFSStep_copy_folder(fromPath, toFolder));
-			putFolder(logger, ibmi, fromPath, toFolder);
+			putFolder(logger, ibmi, fromPath, toFolder, verifier, statistics);
 		} else {
 			logger.log(Messages.IBMiPutIFSStep_copy_file(fromPath, toFolder));
-			putFile(logger, ibmi, fromPath, toFolder);
+			putFile(logger, ibmi, fromPath, toFolder, verifier, statistics);
+		}
+
+		if (verifier != null) {
+			verifier.verify(ibmi, logger);
 		}
 
-		return null;
+		logger.log(statistics.stop().toString());
+		return statistics;
 	}
 
 	private IFSFile getToFolder(final StepContext context, final IBMi ibmi, final FilePath fromPath) throws IOException, InterruptedException {
@@ -105,21 +141,38 @@ public class IBMiPutIFSStep extends IBMiStep<Void> {
 		return new IFSFile(ibmi.getIbmiConnection(), to);
 	}
 
-	private void putFile(final LoggerWrapper logger, final IBMi ibmi, final FilePath file, final IFSFile ifsFolder)
+	private void putFile(final LoggerWrapper logger, final IBMi ibmi, final FilePath file, final IFSFile ifsFolder,
+	                     @CheckForNull final TransferVerifier verifier, final TransferStatistics statistics)
 			throws IOException, AS400SecurityException, InterruptedException {
 		final IFSFile targetFile = new IFSFile(ifsFolder, file.getName());
 		logger.trace(MessageFormat.format("Putting {0} into {1} ({2} bytes)", file, targetFile, file.length()));
-		ibmi.upload(file, targetFile, ccsid);
+		final MessageDigest digest = verifier != null ? verifier.newDigest() : null;
+		statistics.add(ibmi.upload(file, targetFile, ccsid, getChunkSizeBytes(), getRetries(), digest));
+		if (verifier != null) {
+			verifier.record(targetFile, digest);
+		}
 	}
 
 	private void putFolder(final LoggerWrapper logger, final IBMi ibmi, final FilePath folder,
-	                       final IFSFile ifsFolder) throws IOException, InterruptedException, AS400SecurityException {
-		for (final FilePath item : folder.list()) {
-			if (item.isDirectory()) {
-				putFolder(logger, ibmi, item, new IFSFile(ifsFolder, item.getName()));
-			} else {
-				putFile(logger, ibmi, item, ifsFolder);
-			}
+	                       final IFSFile ifsFolder, @CheckForNull final TransferVerifier verifier,
+	                       final TransferStatistics statistics) throws IOException, InterruptedException, AS400SecurityException {
+		final TransferFilter filter = new TransferFilter(includes, excludes);
+		if (!filter.isEmpty()) {
+			logger.trace("Filtering workspace files with %s", filter);
+		}
+
+		//The whole tree is scanned and filtered on the agent in a single call, leaving out the transfer manifests
+		final String root = folder.getRemote();
+		final String excludes = filter.getExcludes() != null ?
+				filter.getExcludes() + "," + TransferManifest.EXCLUDES :
+				TransferManifest.EXCLUDES;
+		for (final FilePath item : folder.list(Util.fixNull(filter.getIncludes(), "**"), excludes, false)) {
+			final String relativePath = item.getRemote().substring(root.length() + 1).replace('\\', '/');
+			final int lastSeparator = relativePath.lastIndexOf('/');
+			final IFSFile targetFolder = lastSeparator > 0 ?
+					new IFSFile(ifsFolder, relativePath.substring(0, lastSeparator)) :
+					ifsFolder;
+			putFile(logger, ibmi, item, targetFolder, verifier, statistics);
 		}
 	}
 
@@ -3,31 +3,31 @@ package org.jenkinsci.plugins.ibmisteps.steps;
 import com.ibm.as400.access.AS400SecurityException;
 import com.ibm.as400.access.ErrorCompletingRequestException;
 import com.ibm.as400.access.ObjectDoesNotExistException;
-import com.ibm.as400.access.SaveFile;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import hudson.AbortException;
 import hudson.Extension;
 import hudson.FilePath;
 import org.jenkinsci.plugins.ibmisteps.Messages;
-import org.jenkinsci.plugins.ibmisteps.model.CallResult;
 import org.jenkinsci.plugins.ibmisteps.model.IBMi;
 import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
 import org.jenkinsci.plugins.ibmisteps.model.SaveFileContent;
-import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiSaveFileStep;
 import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 
 import java.io.IOException;
 import java.io.Serial;
 
-public class IBMiPutSAVFStep extends IBMiStep<SaveFileContent> {
+public class IBMiPutSAVFStep extends IBMiSaveFileStep<SaveFileContent> {
 	@Serial
 	private static final long serialVersionUID = 8285322833287436551L;
 
 	private final String library;
 	private final String name;
 	private final String fromFile;
+	private boolean direct;
+	private boolean skipIfUnchanged;
 
 	@DataBoundConstructor
 	public IBMiPutSAVFStep(final String library, final String name, final String fromFile) {
@@ -48,35 +48,28 @@ public class IBMiPutSAVFStep extends IBMiStep<SaveFileContent> {
 		return name;
 	}
 
-	@Override
-	protected SaveFileContent runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws IOException, InterruptedException, AS400SecurityException, ObjectDoesNotExistException, ErrorCompletingRequestException {
-		final FilePath workspaceFile = context.get(FilePath.class).child(fromFile);
-		if (!workspaceFile.exists()) {
-			throw new AbortException(Messages.IBMiUploadSAVF_workspace_file_not_found(workspaceFile));
-		}
-		logger.log(Messages.IBMiUploadSAVF_uploading(fromFile, library, name, workspaceFile.length()));
+	public boolean isDirect() {
+		return direct;
+	}
 
-		final SaveFile saveFile = new SaveFile(ibmi.getIbmiConnection(), library, name);
-		ibmi.withTempFile(tempFile -> {
-			try {
-				logger.trace("Uploading %s to %s", workspaceFile, tempFile);
-				ibmi.upload(workspaceFile, tempFile);
+	@DataBoundSetter
+	public void setDirect(final boolean direct) {
+		this.direct = direct;
+	}
 
-				final String copyCommand = String.format("CPYFRMSTMF FROMSTMF('%s') TOMBR('%s') MBROPT(*REPLACE)",
-						tempFile.getAbsolutePath(), saveFile.getPath());
-				logger.trace("Running " + copyCommand);
+	public boolean isSkipIfUnchanged() {
+		return skipIfUnchanged;
+	}
 
-				final CallResult copyResult = ibmi.executeCommand(copyCommand);
-				if (!copyResult.isSuccessful()) {
-					throw new AbortException(Messages.IBMiUploadSAVF_CPYFRMSTMF_failed(tempFile, library, name,
-							copyResult.getPrettyMessages()));
-				}
-			} catch (AS400SecurityException | ErrorCompletingRequestException e) {
-				throw new IOException(e);
-			}
-		});
+	@DataBoundSetter
+	public void setSkipIfUnchanged(final boolean skipIfUnchanged) {
+		this.skipIfUnchanged = skipIfUnchanged;
+	}
 
-		return new SaveFileContent(saveFile);
+	@Override
+	protected SaveFileContent runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws IOException, InterruptedException, AS400SecurityException, ObjectDoesNotExistException, ErrorCompletingRequestException {
+		return putSaveFile(logger, ibmi, context.get(FilePath.class).child(fromFile), library, name, direct,
+				skipIfUnchanged);
 	}
 
 	@Extension
@@ -0,0 +1,118 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import com.ibm.as400.access.SaveFile;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.CallResult;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.SaveCompression;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileContent;
+import org.jenkinsci.plugins.ibmisteps.model.TransferStatistics;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiSaveFileStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+
+public class IBMiSaveObjectsStep extends IBMiSaveFileStep<SaveFileContent> {
+	@Serial
+	private static final long serialVersionUID = -2317520977424409178L;
+
+	private final String library;
+	private final String objects;
+	private final String toFile;
+	private String objectTypes = "*ALL";
+	private SaveCompression compression = SaveCompression.HIGH;
+
+	@DataBoundConstructor
+	public IBMiSaveObjectsStep(final String library, final String objects, final String toFile) {
+		this.library = library.trim().toUpperCase();
+		this.objects = Util.fixEmptyAndTrim(objects) != null ? objects.trim().toUpperCase() : "*ALL";
+		this.toFile = toFile;
+	}
+
+	public String getLibrary() {
+		return library;
+	}
+
+	public String getObjects() {
+		return objects;
+	}
+
+	public String getToFile() {
+		return toFile;
+	}
+
+	public String getObjectTypes() {
+		return objectTypes;
+	}
+
+	@DataBoundSetter
+	public void setObjectTypes(final String objectTypes) {
+		this.objectTypes = Util.fixEmptyAndTrim(objectTypes) != null ? objectTypes.trim().toUpperCase() : "*ALL";
+	}
+
+	public SaveCompression getCompression() {
+		return compression;
+	}
+
+	@DataBoundSetter
+	public void setCompression(final SaveCompression compression) {
+		this.compression = compression != null ? compression : SaveCompression.HIGH;
+	}
+
+	@Override
+	protected SaveFileContent runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
+		final SaveFile saveFile = createTempSaveFile(logger, ibmi);
+		try {
+			final String saveCommand = String.format("SAVOBJ OBJ(%s) LIB(%s) DEV(*SAVF) SAVF(%s/%s) OBJTYPE(%s) DTACPR(%s)",
+					toList(objects), library, saveFile.getLibrary(), saveFile.getName(), toList(objectTypes),
+					compression.getValue());
+			logger.log(Messages.IBMiSaveObjectsStep_saving(objects, library, compression.getValue()));
+			logger.trace("Running " + saveCommand);
+			final CallResult saveResult = ibmi.executeCommand(saveCommand);
+			if (!saveResult.isSuccessful()) {
+				throw new AbortException(Messages.IBMiSaveObjectsStep_SAVOBJ_failed(objects, library,
+						saveResult.getPrettyMessages()));
+			}
+
+			final FilePath workspaceFile = context.get(FilePath.class).child(toFile);
+			logger.log(Messages.IBMiDownloadSAVF_downloading(saveFile.getLibrary(), saveFile.getName(), toFile,
+					saveFile.getLength()));
+			final TransferStatistics statistics = new TransferStatistics();
+			//The Save File is in QTEMP: it can only be copied by the command job, never read directly
+			downloadSaveFile(logger, ibmi, saveFile, workspaceFile, null, statistics);
+
+			logger.log(statistics.stop().toString());
+			return describe(saveFile, statistics);
+		} finally {
+			logger.trace("Deleting temporary Save File %s", saveFile.getPath());
+			saveFile.delete();
+		}
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiSaveObjects";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiSaveObjectsStep_description();
+		}
+	}
+}
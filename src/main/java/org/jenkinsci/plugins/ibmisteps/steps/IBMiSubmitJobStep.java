@@ -0,0 +1,261 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import com.ibm.as400.access.AS400;
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.Job;
+import com.ibm.as400.access.MessageQueue;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import com.ibm.as400.access.QSYSObjectPathName;
+import com.ibm.as400.access.QueuedMessage;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.Util;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.Backoff;
+import org.jenkinsci.plugins.ibmisteps.model.CallResult;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiJob;
+import org.jenkinsci.plugins.ibmisteps.model.JobCompletion;
+import org.jenkinsci.plugins.ibmisteps.model.JobStatus;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public class IBMiSubmitJobStep extends IBMiStep<JobCompletion> {
+	@Serial
+	private static final long serialVersionUID = 2200857950328574136L;
+
+	//Sent by the system to the MSGQ of SBMJOB when the job ends
+	private static final String COMPLETED_NORMALLY = "CPF1241";
+	private static final String ENDED_ABNORMALLY = "CPF1240";
+	//The longest time a single receive blocks, so aborting the build is noticed
+	private static final int MAX_RECEIVE_WAIT = 30;
+
+	private final String command;
+	private String jobName = "*JOBD";
+	private String jobDescription = "*USRPRF";
+	private String jobQueue = "*JOBD";
+	private String notificationLibrary = "QGPL";
+	private int timeout;
+
+	@DataBoundConstructor
+	public IBMiSubmitJobStep(final String command) {
+		this.command = command.trim();
+	}
+
+	public String getCommand() {
+		return command;
+	}
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	@DataBoundSetter
+	public void setJobName(final String jobName) {
+		this.jobName = Util.fixEmptyAndTrim(jobName) != null ? jobName.trim().toUpperCase() : "*JOBD";
+	}
+
+	public String getJobDescription() {
+		return jobDescription;
+	}
+
+	@DataBoundSetter
+	public void setJobDescription(final String jobDescription) {
+		this.jobDescription = Util.fixEmptyAndTrim(jobDescription) != null ? jobDescription.trim().toUpperCase() :
+				"*USRPRF";
+	}
+
+	public String getJobQueue() {
+		return jobQueue;
+	}
+
+	@DataBoundSetter
+	public void setJobQueue(final String jobQueue) {
+		this.jobQueue = Util.fixEmptyAndTrim(jobQueue) != null ? jobQueue.trim().toUpperCase() : "*JOBD";
+	}
+
+	public String getNotificationLibrary() {
+		return notificationLibrary;
+	}
+
+	@DataBoundSetter
+	public void setNotificationLibrary(final String notificationLibrary) {
+		this.notificationLibrary = Util.fixEmptyAndTrim(notificationLibrary) != null ?
+				notificationLibrary.trim().toUpperCase() : "QGPL";
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	@DataBoundSetter
+	public void setTimeout(final int timeout) {
+		this.timeout = Math.max(0, timeout);
+	}
+
+	@Override
+	protected JobCompletion runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
+		final String queueName = newQueueName();
+		//The receives block for a while: they must not hold the command job shared with the other steps
+		final AS400 receiver = ibmi.newConnection();
+		final MessageQueue queue = createMessageQueue(logger, ibmi, receiver, queueName);
+		try {
+			final String submitCommand = String.format("SBMJOB CMD(%s) JOB(%s) JOBD(%s) JOBQ(%s)%s", command, jobName,
+					jobDescription, jobQueue, queue != null ? " MSGQ(" + notificationLibrary + "/" + queueName + ")" : "");
+			logger.trace("Running " + submitCommand);
+			final CallResult result = ibmi.executeCommand(submitCommand);
+			final List<IBMiJob> submitted = result.getSubmittedJobs();
+			if (!result.isSuccessful() || submitted.isEmpty()) {
+				logger.error(result.getPrettyMessages("\t"));
+				throw new AbortException(Messages.IBMiSubmitJobStep_failed(command));
+			}
+
+			final IBMiJob job = submitted.get(0);
+			logger.log(Messages.IBMiSubmitJobStep_submitted(command, job));
+			final JobCompletion completion = queue != null ?
+					receiveCompletion(logger, receiver, queue, job) :
+					pollCompletion(ibmi, job);
+			if (completion.isEnded()) {
+				logger.log(Messages.IBMiWaitJobs_job_ended(completion));
+			} else {
+				logger.log(Messages.IBMiWaitJob_timeout_reached(timeout));
+			}
+			return completion;
+		} finally {
+			if (queue != null) {
+				deleteMessageQueue(logger, ibmi, queueName);
+			}
+			receiver.disconnectAllServices();
+		}
+	}
+
+	/**
+	 * Creates the message queue the system notifies when the job ends.
+	 *
+	 * @param receiver the connection the message queue is opened on
+	 * @return the message queue, or <code>null</code> if it cannot be created: the job status is then polled
+	 */
+	@CheckForNull
+	private MessageQueue createMessageQueue(final LoggerWrapper logger, final IBMi ibmi, final AS400 receiver,
+	                                       final String name)
+			throws AS400SecurityException, IOException, InterruptedException, ErrorCompletingRequestException {
+		final CallResult result = ibmi.executeCommand(String.format(
+				"CRTMSGQ MSGQ(%s/%s) TEXT('Jenkins job completion notifications')", notificationLibrary, name));
+		if (!result.isSuccessful()) {
+			logger.log(Messages.IBMiSubmitJobStep_no_queue(notificationLibrary, name, result.getPrettyMessages()));
+			return null;
+		}
+		logger.trace("Created message queue %s/%s", notificationLibrary, name);
+		return new MessageQueue(receiver, QSYSObjectPathName.toPath(notificationLibrary, name, "MSGQ"));
+	}
+
+	private void deleteMessageQueue(final LoggerWrapper logger, final IBMi ibmi, final String name)
+			throws AS400SecurityException, IOException, InterruptedException, ErrorCompletingRequestException {
+		logger.trace("Deleting message queue %s/%s", notificationLibrary, name);
+		final CallResult result = ibmi.executeCommand(String.format("DLTMSGQ MSGQ(%s/%s)", notificationLibrary, name));
+		if (!result.isSuccessful()) {
+			logger.error(Messages.IBMiSubmitJobStep_delete_failed(notificationLibrary, name, result.getPrettyMessages()));
+		}
+	}
+
+	/**
+	 * Blocks until the system sends the completion message of the job, without polling the job status.
+	 * The job status is still checked between two receives, in case the message never comes.
+	 *
+	 * @param receiver the connection of the message queue, not shared with the other steps
+	 */
+	private JobCompletion receiveCompletion(final LoggerWrapper logger, final AS400 receiver, final MessageQueue queue,
+	                                        final IBMiJob job)
+			throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final Instant deadline = timeout > 0 ? Instant.now().plusSeconds(timeout) : null;
+		while (true) {
+			final int wait = deadline != null ?
+					(int) Math.min(MAX_RECEIVE_WAIT, Math.max(0, Duration.between(Instant.now(), deadline).getSeconds())) :
+					MAX_RECEIVE_WAIT;
+			final QueuedMessage message = queue.receive(null, wait, MessageQueue.REMOVE, MessageQueue.ANY);
+			if (message != null) {
+				logger.trace("Received %s: %s", message.getID(), message.getText());
+				if (COMPLETED_NORMALLY.equals(message.getID()) || ENDED_ABNORMALLY.equals(message.getID())) {
+					return new JobCompletion(job, JobStatus.ENDED,
+							COMPLETED_NORMALLY.equals(message.getID()) ? "NORMAL" : "ABNORMAL",
+							message.getDate() != null ? message.getDate().toInstant().toString() : null);
+				}
+				continue;
+			}
+
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			final JobStatus status = JobStatus.of(new Job(receiver, job.name(), job.user(), job.number()));
+			if (!status.isRunning() || (deadline != null && !Instant.now().isBefore(deadline))) {
+				return new JobCompletion(job, status, null, null);
+			}
+		}
+	}
+
+	/**
+	 * Polls the job status until the job ends, when no message queue could be created.
+	 */
+	private JobCompletion pollCompletion(final IBMi ibmi, final IBMiJob job)
+			throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException,
+			ErrorCompletingRequestException {
+		final Instant deadline = timeout > 0 ? Instant.now().plusSeconds(timeout) : null;
+		final Backoff backoff = new Backoff(250, 30000);
+		JobStatus status = JobStatus.of(newJob(ibmi, job));
+		while (status.isRunning() && (deadline == null || Instant.now().isBefore(deadline))) {
+			backoff.pause();
+			final JobStatus previous = status;
+			status = JobStatus.of(newJob(ibmi, job));
+			if (!status.equals(previous)) {
+				backoff.reset();
+			}
+		}
+		return new JobCompletion(job, status, null, null);
+	}
+
+	private static Job newJob(final IBMi ibmi, final IBMiJob job) {
+		return new Job(ibmi.getIbmiConnection(), job.name(), job.user(), job.number());
+	}
+
+	/**
+	 * @return a random object name, starting with a letter as required by the system
+	 */
+	private static String newQueueName() {
+		final String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+		final SecureRandom random = new SecureRandom();
+		final StringBuilder name = new StringBuilder("JK");
+		for (int i = 0; i < 8; i++) {
+			name.append(characters.charAt(random.nextInt(characters.length())));
+		}
+		return name.toString();
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiSubmitJob";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiSubmitJobStep_description();
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.Job;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.Backoff;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiJob;
+import org.jenkinsci.plugins.ibmisteps.model.JobStatus;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.SQLSpooledFilehandler;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class IBMiTailSpooledFileStep extends IBMiStep<Long> {
+	@Serial
+	private static final long serialVersionUID = -4607158512346698075L;
+
+	private final String jobName;
+	private final String jobNumber;
+	private final String jobUser;
+	private final String name;
+	private int number;
+	private int timeout;
+	private int minPollInterval = 500;
+	private int maxPollInterval = 10000;
+	private int fetchSize = 1000;
+
+	@DataBoundConstructor
+	public IBMiTailSpooledFileStep(final String jobName, final String jobNumber, final String jobUser,
+	                               final String name) {
+		this.jobName = jobName.trim().toUpperCase();
+		this.jobNumber = jobNumber.trim().toUpperCase();
+		this.jobUser = jobUser.trim().toUpperCase();
+		this.name = name.trim().toUpperCase();
+	}
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	public String getJobNumber() {
+		return jobNumber;
+	}
+
+	public String getJobUser() {
+		return jobUser;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	@DataBoundSetter
+	public void setNumber(final int number) {
+		this.number = Math.max(0, number);
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	@DataBoundSetter
+	public void setTimeout(final int timeout) {
+		this.timeout = Math.max(0, timeout);
+	}
+
+	public int getMinPollInterval() {
+		return minPollInterval;
+	}
+
+	@DataBoundSetter
+	public void setMinPollInterval(final int minPollInterval) {
+		this.minPollInterval = Math.max(100, minPollInterval);
+	}
+
+	public int getMaxPollInterval() {
+		return maxPollInterval;
+	}
+
+	@DataBoundSetter
+	public void setMaxPollInterval(final int maxPollInterval) {
+		this.maxPollInterval = Math.max(100, maxPollInterval);
+	}
+
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	@DataBoundSetter
+	public void setFetchSize(final int fetchSize) {
+		this.fetchSize = Math.max(1, fetchSize);
+	}
+
+	@Override
+	protected Long runOnIBMi(final StepContext context, final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException, SQLException {
+		if (!(ibmi.getSpooledFileHandler() instanceof final SQLSpooledFilehandler handler)) {
+			throw new AbortException(Messages.IBMiTailSpooledFileStep_no_sql_services());
+		}
+
+		final IBMiJob ibmiJob = new IBMiJob(jobNumber, jobUser, jobName);
+		final Job job = new Job(ibmi.getIbmiConnection(), jobName, jobUser, jobNumber);
+		logger.log(Messages.IBMiTailSpooledFileStep_tailing(name, ibmiJob));
+
+		final Instant start = Instant.now();
+		final Backoff backoff = new Backoff(minPollInterval, maxPollInterval);
+		final AtomicLong lines = new AtomicLong();
+		long lastSeen = 0;
+		boolean running = true;
+		while (running) {
+			//Read once more after the job has ended, to get the last lines
+			running = JobStatus.of(job).isRunning();
+			long seen = lastSeen;
+			try {
+				seen = handler.readLines(ibmi, ibmiJob, name, number, lastSeen, fetchSize, line -> {
+					logger.output(name, line);
+					lines.incrementAndGet();
+				});
+			} catch (final SQLException e) {
+				if (!running) {
+					throw e;
+				}
+				//The spooled file may not be created yet: it is read again after the timeout check
+				logger.trace("Cannot read %s yet: %s", name, e.getLocalizedMessage());
+			}
+
+			if (seen > lastSeen) {
+				lastSeen = seen;
+				backoff.reset();
+			}
+			if (timeout > 0 && Duration.between(start, Instant.now()).getSeconds() > timeout) {
+				logger.log(Messages.IBMiWaitJob_timeout_reached(timeout));
+				break;
+			}
+			if (running) {
+				backoff.pause();
+			}
+		}
+
+		logger.log(Messages.IBMiTailSpooledFileStep_done(lines.get(), name));
+		return lines.get();
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiTailSPLF";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiTailSpooledFileStep_description();
+		}
+	}
+}
@@ -1,25 +1,33 @@
 package org.jenkinsci.plugins.ibmisteps.steps;
 
-import com.ibm.as400.access.*;
+import com.ibm.as400.access.Job;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.AbortException;
 import hudson.Extension;
+import hudson.model.TaskListener;
 import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.Backoff;
 import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiContext;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiJob;
+import org.jenkinsci.plugins.ibmisteps.model.JobLog;
+import org.jenkinsci.plugins.ibmisteps.model.JobPoller;
+import org.jenkinsci.plugins.ibmisteps.model.JobStatus;
 import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
 import org.jenkinsci.plugins.ibmisteps.model.OnMessageWait;
-import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStep;
 import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.Step;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import java.io.IOException;
 import java.io.Serial;
-import java.time.Duration;
-import java.time.Instant;
+import java.io.Serializable;
 
-public class IBMiWaitJobStep extends IBMiStep<Job> {
+public class IBMiWaitJobStep extends Step implements Serializable {
 	@Serial
 	private static final long serialVersionUID = 6918372653694281442L;
 
@@ -29,6 +37,9 @@ public class IBMiWaitJobStep extends IBMiStep<Job> {
 
 	private int timeout;
 	private OnMessageWait onMSGW = OnMessageWait.WAIT;
+	private int minPollInterval = 250;
+	private int maxPollInterval = 30000;
+	private int jobLog;
 
 	@DataBoundConstructor
 	public IBMiWaitJobStep(final String name, final String number, final String user) {
@@ -67,100 +78,221 @@ public class IBMiWaitJobStep extends IBMiStep<Job> {
 		this.onMSGW = onMSGW;
 	}
 
+	public int getMinPollInterval() {
+		return minPollInterval;
+	}
+
+	@DataBoundSetter
+	public void setMinPollInterval(final int minPollInterval) {
+		this.minPollInterval = Math.max(100, minPollInterval);
+	}
+
+	public int getMaxPollInterval() {
+		return maxPollInterval;
+	}
+
+	@DataBoundSetter
+	public void setMaxPollInterval(final int maxPollInterval) {
+		this.maxPollInterval = Math.max(100, maxPollInterval);
+	}
+
+	public int getJobLog() {
+		return jobLog;
+	}
+
+	/**
+	 * @param jobLog the number of job log messages kept for the returned value; the job log is streamed while the job
+	 *               runs if positive
+	 */
+	@DataBoundSetter
+	public void setJobLog(final int jobLog) {
+		this.jobLog = Math.max(0, jobLog);
+	}
+
 	@Override
-	protected Job runOnIBMi(final StepContext stepContext, final LoggerWrapper logger, final IBMi ibmi) throws InterruptedException, AbortException {
-		final Instant start = Instant.now();
-		final Job job = new Job(ibmi.getIbmiConnection(), name, user, number);
-		logger.log(Messages.IBMiWaitJob_waiting(job.toString()));
-		boolean timeoutReached = false;
-		boolean resume = false;
-		try {
-			boolean wait = isJobRunning(job);
-			while (!resume && wait && !timeoutReached) {
-				timeoutReached = (timeout > 0 && Duration.between(start, Instant.now()).getSeconds() > timeout);
-
-				if (isJobInMSGW(job)) {
-					resume = handleMessageWait(logger, job);
-				} else {
-					wait = isJobRunning(job);
-				}
+	public StepExecution start(final StepContext context) {
+		return new Execution(context, this);
+	}
+
+	/**
+	 * Waits for the job without holding any thread: the job is watched by the {@link JobPoller}, which completes the
+	 * step once the job has ended.
+	 */
+	private static final class Execution extends StepExecution implements JobPoller.Listener {
+		@Serial
+		private static final long serialVersionUID = -3806270768937283619L;
 
-				Thread.sleep(500);
+		private final IBMiWaitJobStep step;
+		private final long start = System.currentTimeMillis();
+		//Read and written by the poller threads
+		private volatile boolean inMessageWait;
+		@CheckForNull
+		private volatile JobLog jobLog;
+		private volatile boolean streaming;
+		private transient volatile IBMi ibmi;
+		private transient LoggerWrapper logger;
+
+		private Execution(final StepContext context, final IBMiWaitJobStep step) {
+			super(context);
+			this.step = step;
+		}
+
+		@Override
+		public boolean start() throws Exception {
+			connect();
+			getLogger().log(Messages.IBMiWaitJob_waiting(getJob().toString()));
+			if (step.jobLog > 0) {
+				jobLog = new JobLog(getIBMiJob(), step.jobLog);
+				streaming = true;
+				getLogger().log(Messages.IBMiWaitJob_joblog(step.jobLog));
 			}
-		} catch (AbortException e) {
-			throw e;
-		} catch (AS400SecurityException | IOException | ObjectDoesNotExistException |
-		         ErrorCompletingRequestException e) {
-			logger.log(Messages.IBMiWaitJob_error(e.getLocalizedMessage()));
+			//The poller may call back right away: everything must be set before
+			watch();
+			return false;
 		}
 
-		if (timeoutReached) {
-			logger.log(Messages.IBMiWaitJob_timeout_reached(timeout));
-		} else if (!resume) {
-			logger.log(Messages.IBMiWaitJob_job_ended(job.toString()));
+		@Override
+		public void onResume() {
+			try {
+				connect();
+				watch();
+			} catch (final Exception e) {
+				getContext().onFailure(e);
+			}
 		}
 
-		return job;
-	}
+		@Override
+		public void stop(@NonNull final Throwable cause) {
+			JobPoller.get().cancel(this);
+			getContext().onFailure(cause);
+		}
 
-	private boolean handleMessageWait(final LoggerWrapper logger, final Job job) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
-		if (onMSGW != OnMessageWait.FAIL) {
-			logger.log(Messages.IBMiWaitJob_MSGW());
+		private void connect() throws Exception {
+			ibmi = getContext().get(IBMiContext.class).getIBMi(getContext().get(TaskListener.class));
 		}
-		switch (onMSGW) {
-			case KILL -> {
-				logger.log(Messages.IBMiWaitJob_MSGW_kill(job.toString()));
-				job.end(0);
-			}
 
-			case WAIT -> {
-				logger.log(Messages.IBMiWaitJob_MSGW_wait(job.toString()));
-				while (isJobInMSGW(job)) {
-					Thread.sleep(500);
-				}
-				logger.log(Messages.IBMiWaitJob_MSGW_resume());
+		private void watch() {
+			JobPoller.get().watch(ibmi, getIBMiJob(),
+					new Backoff(step.minPollInterval, step.maxPollInterval), this);
+		}
+
+		@Override
+		public boolean onStatus(final JobStatus status) throws Exception {
+			readJobLog(status.isRunning());
+			if (!status.isRunning()) {
+				getLogger().log(Messages.IBMiWaitJob_job_ended(getJob().toString()));
+				getContext().onSuccess(getResult());
 				return true;
 			}
 
-			case RESUME -> {
-				logger.log(Messages.IBMiWaitJob_MSGW_resume());
+			if (step.timeout > 0 && (System.currentTimeMillis() - start) / 1000 > step.timeout) {
+				getLogger().log(Messages.IBMiWaitJob_timeout_reached(step.timeout));
+				getContext().onSuccess(getResult());
 				return true;
 			}
 
-			case FAIL -> throw new AbortException(Messages.IBMiWaitJob_MSGW());
+			if (status.isInMSGW()) {
+				if (!inMessageWait) {
+					inMessageWait = true;
+					return handleMessageWait();
+				}
+			} else if (inMessageWait) {
+				inMessageWait = false;
+				//The job has been answered: the pipeline resumes
+				if (step.onMSGW == OnMessageWait.WAIT) {
+					getLogger().log(Messages.IBMiWaitJob_MSGW_resume());
+					getContext().onSuccess(getResult());
+					return true;
+				}
+			}
+			return false;
 		}
 
-		return false;
-	}
+		/**
+		 * @return <code>true</code> if the job is no longer waited for
+		 */
+		private boolean handleMessageWait() throws Exception {
+			if (step.onMSGW != OnMessageWait.FAIL) {
+				getLogger().log(Messages.IBMiWaitJob_MSGW());
+			}
+			switch (step.onMSGW) {
+				case KILL -> {
+					getLogger().log(Messages.IBMiWaitJob_MSGW_kill(getJob().toString()));
+					getJob().end(0);
+				}
+
+				case WAIT -> getLogger().log(Messages.IBMiWaitJob_MSGW_wait(getJob().toString()));
+
+				case RESUME -> {
+					getLogger().log(Messages.IBMiWaitJob_MSGW_resume());
+					getContext().onSuccess(getResult());
+					return true;
+				}
 
-	private boolean isJobRunning(Job job) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
-		try {
-			job.loadInformation();
-			return job.getStatus().equals(Job.JOB_STATUS_ACTIVE);
-		} catch (AS400Exception e) {
-			handleJobException(e);
-			return true;
+				case FAIL -> throw new AbortException(Messages.IBMiWaitJob_MSGW());
+			}
+			return false;
+		}
+
+		@Override
+		public void onFailure(final Throwable failure) {
+			if (failure instanceof AbortException) {
+				getContext().onFailure(failure);
+				return;
+			}
+			//Like before, a job whose status cannot be read is not waited for anymore
+			try {
+				getLogger().log(Messages.IBMiWaitJob_error(failure.getLocalizedMessage()));
+				getContext().onSuccess(getResult());
+			} catch (final Exception e) {
+				getContext().onFailure(e);
+			}
 		}
-	}
 
-	private boolean isJobInMSGW(Job job) throws AS400SecurityException, ObjectDoesNotExistException, IOException, InterruptedException, ErrorCompletingRequestException {
-		try {
-			job.loadInformation();
-			return job.getValue(Job.ACTIVE_JOB_STATUS).equals(Job.ACTIVE_JOB_STATUS_WAIT_MESSAGE);
+		/**
+		 * Prints the messages logged since the previous poll.
+		 *
+		 * @param running <code>false</code> for the last read, once the job has ended: its job log may not be
+		 *                readable anymore, which is not worth a warning
+		 */
+		private void readJobLog(final boolean running) throws IOException, InterruptedException {
+			if (jobLog == null || !streaming) {
+				return;
+			}
+			final LoggerWrapper logger = getLogger();
+			try {
+				jobLog.read(ibmi, message -> logger.output(jobLog.getJob().toString(), message.toString()));
+			} catch (final Exception e) {
+				streaming = false;
+				if (running) {
+					logger.log(Messages.IBMiWaitJob_joblog_error(e.getLocalizedMessage()));
+				} else {
+					logger.trace("Cannot read the job log of the ended job: " + e.getLocalizedMessage());
+				}
+			}
+		}
 
-		} catch (AS400Exception e) {
-			handleJobException(e);
-			return true;
+		/**
+		 * @return the job, or its job log when it has been streamed
+		 */
+		private Object getResult() {
+			return jobLog != null ? jobLog : getJob();
+		}
+
+		private IBMiJob getIBMiJob() {
+			return new IBMiJob(step.number, step.user, step.name);
 		}
-	}
 
-	private void handleJobException(AS400Exception e) throws AS400Exception {
-		// Jobs created by SBMJOB tend to get cleaned-up immediately upon job completion,
-		// whereupon getStatus(), getCompletionStatus(), and most other 'get' methods will throw an AS400Exception containing an AS400Message
-		// indicating "Internal job identifier no longer valid" (message ID CPF3C52).
-		// That exception should be interpreted as an indication that the job has completed.
-		if (!e.getAS400Message().getID().equals("CPF3C52")) {
-			throw e;
+		private Job getJob() {
+			return new Job(ibmi.getIbmiConnection(), step.name, step.user, step.number);
+		}
+
+		private LoggerWrapper getLogger() throws IOException, InterruptedException {
+			if (logger == null) {
+				final boolean traceEnabled = getContext().get(IBMiContext.class).isTraceEnabled();
+				logger = new LoggerWrapper(getContext().get(TaskListener.class).getLogger(), traceEnabled);
+			}
+			return logger;
 		}
 	}
 
@@ -0,0 +1,370 @@
+package org.jenkinsci.plugins.ibmisteps.steps;
+
+import com.ibm.as400.access.Job;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.Backoff;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiContext;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiJob;
+import org.jenkinsci.plugins.ibmisteps.model.JobCompletion;
+import org.jenkinsci.plugins.ibmisteps.model.JobPoller;
+import org.jenkinsci.plugins.ibmisteps.model.JobStatus;
+import org.jenkinsci.plugins.ibmisteps.model.JobStatuses;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.OnMessageWait;
+import org.jenkinsci.plugins.ibmisteps.model.WaitMode;
+import org.jenkinsci.plugins.ibmisteps.steps.abstracts.IBMiStepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class IBMiWaitJobsStep extends Step implements Serializable {
+	@Serial
+	private static final long serialVersionUID = -7736103588243571926L;
+
+	private final List<String> jobs;
+	private WaitMode mode = WaitMode.ALL;
+	private int timeout;
+	private OnMessageWait onMSGW = OnMessageWait.WAIT;
+	private int minPollInterval = 250;
+	private int maxPollInterval = 30000;
+
+	/**
+	 * @param jobs qualified job names (<code>number/user/name</code>)
+	 */
+	@DataBoundConstructor
+	public IBMiWaitJobsStep(final List<String> jobs) {
+		this.jobs = jobs != null ? new ArrayList<>(jobs) : new ArrayList<>();
+	}
+
+	public List<String> getJobs() {
+		return jobs;
+	}
+
+	public WaitMode getMode() {
+		return mode;
+	}
+
+	@DataBoundSetter
+	public void setMode(final WaitMode mode) {
+		this.mode = mode != null ? mode : WaitMode.ALL;
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	@DataBoundSetter
+	public void setTimeout(final int timeout) {
+		this.timeout = timeout;
+	}
+
+	public OnMessageWait getOnMSGW() {
+		return onMSGW;
+	}
+
+	@DataBoundSetter
+	public void setOnMSGW(final OnMessageWait onMSGW) {
+		this.onMSGW = onMSGW != null ? onMSGW : OnMessageWait.WAIT;
+	}
+
+	public int getMinPollInterval() {
+		return minPollInterval;
+	}
+
+	@DataBoundSetter
+	public void setMinPollInterval(final int minPollInterval) {
+		this.minPollInterval = Math.max(100, minPollInterval);
+	}
+
+	public int getMaxPollInterval() {
+		return maxPollInterval;
+	}
+
+	@DataBoundSetter
+	public void setMaxPollInterval(final int maxPollInterval) {
+		this.maxPollInterval = Math.max(100, maxPollInterval);
+	}
+
+	@Override
+	public StepExecution start(final StepContext context) {
+		return new Execution(context, this);
+	}
+
+	/**
+	 * Waits for the jobs without holding any thread: each job is watched by the {@link JobPoller}, which reads the
+	 * statuses of the jobs due on the same IBM i session with a single query.
+	 */
+	private static final class Execution extends StepExecution {
+		@Serial
+		private static final long serialVersionUID = 2460781378539046722L;
+
+		private final IBMiWaitJobsStep step;
+		private final long start = System.currentTimeMillis();
+		private final List<IBMiJob> jobList = new ArrayList<>();
+		//Guarded by this execution: the poller threads may report the jobs concurrently
+		private final Map<IBMiJob, JobStatus> statuses = new HashMap<>();
+		private final Map<IBMiJob, JobCompletion> done = new LinkedHashMap<>();
+		private final Set<IBMiJob> inMessageWait = new HashSet<>();
+		//The jobs that have ended in the current poll, whose completions are read together
+		private final List<IBMiJob> ended = new ArrayList<>();
+		private boolean finished;
+		private transient volatile IBMi ibmi;
+		private transient LoggerWrapper logger;
+		private transient List<Watcher> watchers;
+
+		private Execution(final StepContext context, final IBMiWaitJobsStep step) {
+			super(context);
+			this.step = step;
+		}
+
+		@Override
+		public boolean start() throws Exception {
+			for (final String job : step.jobs) {
+				jobList.add(IBMiJob.parse(job));
+			}
+			if (jobList.isEmpty()) {
+				throw new AbortException(Messages.IBMiWaitJobs_no_job());
+			}
+
+			connect();
+			getLogger().log(Messages.IBMiWaitJobs_waiting(step.mode, jobList.size(), jobList));
+			watch();
+			return false;
+		}
+
+		@Override
+		public void onResume() {
+			try {
+				connect();
+				watch();
+			} catch (final Exception e) {
+				getContext().onFailure(e);
+			}
+		}
+
+		@Override
+		public void stop(@NonNull final Throwable cause) {
+			synchronized (this) {
+				finished = true;
+				cancelWatchers();
+			}
+			getContext().onFailure(cause);
+		}
+
+		private void connect() throws Exception {
+			ibmi = getContext().get(IBMiContext.class).getIBMi(getContext().get(TaskListener.class));
+		}
+
+		private synchronized void watch() {
+			//Polled again after a restart
+			ended.clear();
+			watchers = new ArrayList<>();
+			for (final IBMiJob job : jobList) {
+				if (!done.containsKey(job)) {
+					watchers.add(new Watcher(job));
+				}
+			}
+			//The poller may call back right away
+			for (final Watcher watcher : new ArrayList<>(watchers)) {
+				JobPoller.get().watch(ibmi, watcher.job, new Backoff(step.minPollInterval, step.maxPollInterval),
+						watcher);
+			}
+		}
+
+		private void cancelWatchers() {
+			if (watchers != null) {
+				watchers.forEach(JobPoller.get()::cancel);
+			}
+		}
+
+		/**
+		 * @return <code>true</code> if the job is no longer waited for
+		 */
+		private synchronized boolean onStatus(final IBMiJob job, final JobStatus status) throws Exception {
+			if (finished) {
+				return true;
+			}
+			statuses.put(job, status);
+
+			if (!status.isRunning()) {
+				ended.add(job);
+				return true;
+			}
+
+			//Once every job has been polled, so that each one has a status to return
+			if (step.timeout > 0 && statuses.size() == jobList.size()
+					&& (System.currentTimeMillis() - start) / 1000 > step.timeout) {
+				getLogger().log(Messages.IBMiWaitJob_timeout_reached(step.timeout));
+				finish();
+				return true;
+			}
+
+			final boolean resumed;
+			if (status.isInMSGW()) {
+				resumed = handleMessageWait(job, inMessageWait.add(job));
+			} else {
+				//A job leaving MSGW under the WAIT policy is no longer waited for, like with ibmiWaitJob
+				resumed = inMessageWait.remove(job) && step.onMSGW == OnMessageWait.WAIT;
+			}
+			if (resumed) {
+				getLogger().log(Messages.IBMiWaitJobs_MSGW_resume(job));
+				done.put(job, new JobCompletion(job, status, null, null));
+				finishIfDone();
+			}
+			return resumed;
+		}
+
+		/**
+		 * Reads how the jobs ended in the last poll have completed, with a single query.
+		 */
+		private synchronized void onPolled() throws IOException, InterruptedException {
+			if (finished || ended.isEmpty()) {
+				return;
+			}
+			collectEnded();
+			finishIfDone();
+		}
+
+		private synchronized void onFailure(final Throwable failure) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			cancelWatchers();
+			getContext().onFailure(failure);
+		}
+
+		/**
+		 * Reads how the ended jobs have completed from <code>QSYS2.JOB_INFO</code>, all at once.
+		 */
+		private void collectEnded() throws IOException, InterruptedException {
+			if (ended.isEmpty()) {
+				return;
+			}
+			Map<IBMiJob, JobCompletion> completions = Map.of();
+			try {
+				completions = JobStatuses.completions(ibmi, ended);
+			} catch (final Exception e) {
+				getLogger().trace("Cannot read how jobs " + ended + " have completed: " + e.getLocalizedMessage());
+			}
+			for (final IBMiJob job : ended) {
+				final JobCompletion completion = completions.getOrDefault(job,
+						new JobCompletion(job, JobStatus.ENDED, null, null));
+				getLogger().log(Messages.IBMiWaitJobs_job_ended(completion));
+				done.put(job, completion);
+			}
+			ended.clear();
+		}
+
+		private void finishIfDone() throws IOException, InterruptedException {
+			if (done.size() == jobList.size() || (step.mode == WaitMode.ANY && !done.isEmpty())) {
+				finish();
+			}
+		}
+
+		private void finish() throws IOException, InterruptedException {
+			//The jobs ended in the same poll are returned with their completion
+			collectEnded();
+			finished = true;
+			cancelWatchers();
+			getLogger().log(Messages.IBMiWaitJobs_done(done.size(), jobList.size()));
+			getContext().onSuccess(jobList.stream()
+					.map(job -> done.getOrDefault(job, new JobCompletion(job, statuses.get(job), null, null)))
+					.toList());
+		}
+
+		/**
+		 * Applies the MSGW policy to a job.
+		 *
+		 * @param first <code>true</code> if the job has just entered MSGW
+		 * @return <code>true</code> if the job is no longer waited for
+		 */
+		private boolean handleMessageWait(final IBMiJob job, final boolean first) throws Exception {
+			if (step.onMSGW == OnMessageWait.FAIL) {
+				throw new AbortException(Messages.IBMiWaitJobs_MSGW(job));
+			}
+			if (!first) {
+				return false;
+			}
+
+			getLogger().log(Messages.IBMiWaitJobs_MSGW(job));
+			switch (step.onMSGW) {
+				case KILL -> {
+					getLogger().log(Messages.IBMiWaitJob_MSGW_kill(job));
+					new Job(ibmi.getIbmiConnection(), job.name(), job.user(), job.number()).end(0);
+				}
+				case WAIT -> getLogger().log(Messages.IBMiWaitJob_MSGW_wait(job));
+				case RESUME -> {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private LoggerWrapper getLogger() throws IOException, InterruptedException {
+			if (logger == null) {
+				final boolean traceEnabled = getContext().get(IBMiContext.class).isTraceEnabled();
+				logger = new LoggerWrapper(getContext().get(TaskListener.class).getLogger(), traceEnabled);
+			}
+			return logger;
+		}
+
+		/**
+		 * Watches one of the jobs for the execution.
+		 */
+		private final class Watcher implements JobPoller.Listener {
+			private final IBMiJob job;
+
+			private Watcher(final IBMiJob job) {
+				this.job = job;
+			}
+
+			@Override
+			public boolean onStatus(final JobStatus status) throws Exception {
+				return Execution.this.onStatus(job, status);
+			}
+
+			@Override
+			public void onFailure(final Throwable failure) {
+				Execution.this.onFailure(failure);
+			}
+
+			@Override
+			public void onPolled() throws Exception {
+				Execution.this.onPolled();
+			}
+		}
+	}
+
+	@Extension
+	public static class DescriptorImpl extends IBMiStepDescriptor {
+		@Override
+		public String getFunctionName() {
+			return "ibmiWaitJobs";
+		}
+
+		@NonNull
+		@Override
+		public String getDisplayName() {
+			return Messages.IBMiWaitJobs_description();
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package org.jenkinsci.plugins.ibmisteps.steps.abstracts;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.IFSFile;
+import com.ibm.as400.access.ObjectDoesNotExistException;
+import com.ibm.as400.access.SaveFile;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.ibmisteps.Messages;
+import org.jenkinsci.plugins.ibmisteps.model.CallResult;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.IBMiContext;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileContent;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileDigest;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileListing;
+import org.jenkinsci.plugins.ibmisteps.model.SaveFileSpec;
+import org.jenkinsci.plugins.ibmisteps.model.SessionPool;
+import org.jenkinsci.plugins.ibmisteps.model.SessionTask;
+import org.jenkinsci.plugins.ibmisteps.model.TempFileTask;
+import org.jenkinsci.plugins.ibmisteps.model.TransferStatistics;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Base class of the steps transferring Save Files and returning their {@link SaveFileContent}.
+ */
+public abstract class IBMiSaveFileStep<T> extends IBMiTransferStep<T> {
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	//FULL by default, so the pipelines reading the entries of the returned value keep working
+	private SaveFileListing listEntries = SaveFileListing.FULL;
+
+	public SaveFileListing getListEntries() {
+		return listEntries;
+	}
+
+	@DataBoundSetter
+	public void setListEntries(final SaveFileListing listEntries) {
+		this.listEntries = listEntries != null ? listEntries : SaveFileListing.FULL;
+	}
+
+	/**
+	 * @return the {@link SaveFileContent} of the transferred Save File, listing its entries as requested
+	 */
+	protected SaveFileContent describe(final SaveFile saveFile, final TransferStatistics statistics)
+			throws AS400SecurityException, ErrorCompletingRequestException, InterruptedException, IOException,
+			ObjectDoesNotExistException {
+		return new SaveFileContent(saveFile, listEntries).withTransferStatistics(statistics);
+	}
+
+	/**
+	 * Downloads a Save File into a workspace file.
+	 *
+	 * @param direct if <code>true</code>, the Save File is read through the QSYS.LIB file system instead of being
+	 *               copied into a temporary stream file first
+	 */
+	protected SaveFileContent getSaveFile(final LoggerWrapper logger, final IBMi ibmi, final String library,
+	                                      final String name, final FilePath to, final boolean direct)
+			throws IOException, InterruptedException, AS400SecurityException, ObjectDoesNotExistException,
+			ErrorCompletingRequestException {
+		final SaveFile saveFile = new SaveFile(ibmi.getIbmiConnection(), library, name);
+		if (!saveFile.exists()) {
+			throw new AbortException(Messages.IBMiDownloadSAVF_save_file_not_found(library, name));
+		}
+
+		logger.log(Messages.IBMiDownloadSAVF_downloading(library, name, to.getRemote(), saveFile.getLength()));
+		final TransferStatistics statistics = new TransferStatistics();
+		if (direct) {
+			if (getChunkSize() > 0) {
+				logger.log(Messages.IBMiTransferStep_direct_chunk_ignored());
+			}
+			//The Save File records are read through the QSYS.LIB file system, without any intermediate copy
+			final IFSFile saveFileStream = new IFSFile(ibmi.getIbmiConnection(), saveFile.getPath());
+			logger.trace("Downloading %s to %s", saveFileStream, to);
+			download(logger, ibmi, saveFileStream, to, 0, statistics);
+		} else {
+			//Keep the stream file if a chunked download fails, so it can be resumed
+			downloadSaveFile(logger, ibmi, saveFile, to,
+					getChunkSize() > 0 ? saveFile.getPath() + ">" + to.getRemote() : null, statistics);
+		}
+
+		logger.log(statistics.stop().toString());
+		return describe(saveFile, statistics);
+	}
+
+	/**
+	 * Downloads a Save File by copying it into a temporary stream file first.
+	 *
+	 * @param resumeKey if not <code>null</code>, the temporary stream file is kept when the download fails so it can be
+	 *                  resumed by the next download using the same key
+	 */
+	protected void downloadSaveFile(final LoggerWrapper logger, final IBMi ibmi, final SaveFile saveFile,
+	                                final FilePath to, @CheckForNull final String resumeKey,
+	                                final TransferStatistics statistics)
+			throws IOException, AS400SecurityException, InterruptedException, ErrorCompletingRequestException {
+		final TempFileTask downloadTask = tempFile -> {
+			try {
+				final String copyCommand = String.format("CPYTOSTMF FROMMBR('%s') TOSTMF('%s') STMFOPT(*REPLACE)",
+						saveFile.getPath(), tempFile.getAbsolutePath());
+				logger.trace("Running " + copyCommand);
+				final CallResult copyResult = ibmi.executeCommand(copyCommand);
+				if (!copyResult.isSuccessful()) {
+					throw new AbortException(Messages.IBMiDownloadSAVF_CPYTOSTMF_failed(saveFile.getLibrary(),
+							saveFile.getName(), tempFile, copyResult.getPrettyMessages()));
+				}
+
+				logger.trace("Downloading %s to %s", tempFile, to);
+				download(logger, ibmi, tempFile, to, getChunkSizeBytes(), statistics);
+			} catch (AS400SecurityException | ErrorCompletingRequestException e) {
+				throw new IOException(e);
+			}
+		};
+
+		if (resumeKey != null) {
+			ibmi.withResumableTempFile(resumeKey, downloadTask);
+		} else {
+			ibmi.withTempFile(downloadTask);
+		}
+	}
+
+	/**
+	 * Uploads a workspace file into a Save File.
+	 *
+	 * @param direct          if <code>true</code>, the Save File is written through the QSYS.LIB file system instead of
+	 *                        being copied from a temporary stream file
+	 * @param skipIfUnchanged if <code>true</code>, nothing is transferred when the Save File already holds the content
+	 *                        of the workspace file, as recorded by the digest in its text description
+	 */
+	protected SaveFileContent putSaveFile(final LoggerWrapper logger, final IBMi ibmi, final FilePath from,
+	                                      final String library, final String name, final boolean direct,
+	                                      final boolean skipIfUnchanged)
+			throws IOException, InterruptedException, AS400SecurityException, ObjectDoesNotExistException,
+			ErrorCompletingRequestException {
+		if (!from.exists()) {
+			throw new AbortException(Messages.IBMiUploadSAVF_workspace_file_not_found(from));
+		}
+
+		final SaveFile saveFile = new SaveFile(ibmi.getIbmiConnection(), library, name);
+		final TransferStatistics statistics = new TransferStatistics();
+		final String digest = skipIfUnchanged ? SaveFileDigest.of(from) : null;
+		final String currentText = saveFile.exists() ? saveFile.getDescription() : null;
+		if (digest != null && currentText != null && digest.equals(currentText.trim())) {
+			logger.log(Messages.IBMiUploadSAVF_unchanged(from.getRemote(), library, name));
+			return describe(saveFile, statistics.stop());
+		}
+
+		logger.log(Messages.IBMiUploadSAVF_uploading(from.getRemote(), library, name, from.length()));
+		if (direct) {
+			if (getChunkSize() > 0) {
+				logger.log(Messages.IBMiTransferStep_direct_chunk_ignored());
+			}
+			//The Save File records are written through the QSYS.LIB file system, so it must exist and be empty
+			if (saveFile.exists()) {
+				logger.trace("Clearing Save File %s", saveFile.getPath());
+				saveFile.clear();
+			} else {
+				logger.trace("Creating Save File %s", saveFile.getPath());
+				saveFile.create();
+			}
+			final IFSFile saveFileStream = new IFSFile(ibmi.getIbmiConnection(), saveFile.getPath());
+			logger.trace("Uploading %s to %s", from, saveFileStream);
+			upload(logger, ibmi, from, saveFileStream, 0, statistics);
+		} else {
+			//Keep the partially uploaded stream file if a chunked upload fails, so it can be resumed
+			uploadSaveFile(logger, ibmi, from, saveFile,
+					getChunkSize() > 0 ? from.getRemote() + ">" + saveFile.getPath() : null, statistics);
+		}
+
+		logger.log(statistics.stop().toString());
+		if (digest != null) {
+			recordText(logger, ibmi, saveFile, digest);
+		} else if (SaveFileDigest.isDigest(currentText)) {
+			//The recorded digest no longer matches the content
+			recordText(logger, ibmi, saveFile, null);
+		} else {
+			return describe(saveFile, statistics);
+		}
+		//The attributes of the first instance still hold the previous text
+		return describe(new SaveFile(ibmi.getIbmiConnection(), library, name), statistics);
+	}
+
+	/**
+	 * Uploads a workspace file into a Save File by copying it from a temporary stream file.
+	 *
+	 * @param resumeKey if not <code>null</code>, the temporary stream file is kept when the upload fails so it can be
+	 *                  resumed by the next upload using the same key
+	 */
+	protected void uploadSaveFile(final LoggerWrapper logger, final IBMi ibmi, final FilePath from,
+	                              final SaveFile saveFile, @CheckForNull final String resumeKey,
+	                              final TransferStatistics statistics)
+			throws IOException, AS400SecurityException, InterruptedException, ErrorCompletingRequestException {
+		final TempFileTask uploadTask = tempFile -> {
+			try {
+				logger.trace("Uploading %s to %s", from, tempFile);
+				upload(logger, ibmi, from, tempFile, getChunkSizeBytes(), statistics);
+
+				final String copyCommand = String.format("CPYFRMSTMF FROMSTMF('%s') TOMBR('%s') MBROPT(*REPLACE)",
+						tempFile.getAbsolutePath(), saveFile.getPath());
+				logger.trace("Running " + copyCommand);
+
+				final CallResult copyResult = ibmi.executeCommand(copyCommand);
+				if (!copyResult.isSuccessful()) {
+					throw new AbortException(Messages.IBMiUploadSAVF_CPYFRMSTMF_failed(tempFile, saveFile.getLibrary(),
+							saveFile.getName(), copyResult.getPrettyMessages()));
+				}
+			} catch (AS400SecurityException | ErrorCompletingRequestException e) {
+				throw new IOException(e);
+			}
+		};
+
+		if (resumeKey != null) {
+			ibmi.withResumableTempFile(resumeKey, uploadTask);
+		} else {
+			ibmi.withTempFile(uploadTask);
+		}
+	}
+
+	/**
+	 * Creates an empty Save File with a unique name in QTEMP. Being in QTEMP, it can only be used by the command job.
+	 */
+	protected SaveFile createTempSaveFile(final LoggerWrapper logger, final IBMi ibmi) throws AS400SecurityException,
+			ErrorCompletingRequestException, IOException, InterruptedException, ObjectDoesNotExistException {
+		SaveFile saveFile;
+		do {
+			saveFile = new SaveFile(ibmi.getIbmiConnection(), "QTEMP",
+					String.format("JKS%07d", ThreadLocalRandom.current().nextInt(10000000)));
+		} while (saveFile.exists());
+
+		logger.trace("Creating temporary Save File %s", saveFile.getPath());
+		saveFile.create();
+		return saveFile;
+	}
+
+	/**
+	 * @return the given comma or space separated values, as a CL list
+	 */
+	protected static String toList(final String values) {
+		return String.join(" ", values.split("[,\\s]+"));
+	}
+
+	/**
+	 * Changes the text description of a Save File; failing to do so does not fail the step.
+	 *
+	 * @param text the new text, or <code>null</code> to blank it
+	 */
+	private void recordText(final LoggerWrapper logger, final IBMi ibmi, final SaveFile saveFile,
+	                        @CheckForNull final String text)
+			throws IOException, InterruptedException, AS400SecurityException, ErrorCompletingRequestException {
+		final String changeCommand = String.format("CHGOBJD OBJ(%s/%s) OBJTYPE(*FILE) TEXT(%s)", saveFile.getLibrary(),
+				saveFile.getName(), text != null ? "'" + text + "'" : "*BLANK");
+		logger.trace("Running " + changeCommand);
+		final CallResult changeResult = ibmi.executeCommand(changeCommand);
+		if (!changeResult.isSuccessful()) {
+			logger.error(Messages.IBMiUploadSAVF_CHGOBJD_failed(saveFile.getLibrary(), saveFile.getName(),
+					changeResult.getPrettyMessages()));
+		}
+	}
+
+	/**
+	 * Transfers several Save Files in parallel, each session working on one Save File at a time so the transfer of
+	 * one Save File overlaps with the server side copy of another.
+	 *
+	 * @param parallelism the maximum number of sessions used, including the main session
+	 * @return the {@link SaveFileContent} of every Save File, in the same order as <code>saveFiles</code>
+	 */
+	protected List<SaveFileContent> transferAll(final StepContext context, final LoggerWrapper logger, final IBMi ibmi,
+	                                            final List<SaveFileSpec> saveFiles, final int parallelism,
+	                                            final SessionTask<SaveFileSpec, SaveFileContent> task)
+			throws IOException, InterruptedException {
+		final TransferStatistics statistics = new TransferStatistics();
+		final int sessions = Math.max(1, Math.min(parallelism, saveFiles.size()));
+		logger.log(Messages.IBMiSaveFileStep_parallel(saveFiles.size(), sessions));
+		try (SessionPool pool = new SessionPool(context.get(IBMiContext.class), context.get(TaskListener.class), ibmi,
+				sessions)) {
+			final List<SaveFileContent> contents = pool.map(saveFiles, task);
+			contents.forEach(content -> statistics.add(content.getTransferStatistics().getBytes()));
+			logger.log(statistics.stop().toString());
+			return new ArrayList<>(contents);
+		}
+	}
+}
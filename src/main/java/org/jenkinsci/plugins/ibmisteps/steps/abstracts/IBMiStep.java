@@ -4,7 +4,10 @@ import com.ibm.as400.access.AS400SecurityException;
 import com.ibm.as400.access.ErrorCompletingRequestException;
 import com.ibm.as400.access.ObjectDoesNotExistException;
 import com.ibm.as400.access.list.OpenListException;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.model.TaskListener;
+import jenkins.util.Timer;
 import org.jenkinsci.plugins.ibmisteps.model.IBMi;
 import org.jenkinsci.plugins.ibmisteps.model.IBMiContext;
 import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
@@ -32,14 +35,34 @@ public abstract class IBMiStep<T> extends Step implements Serializable {
 			private static final long serialVersionUID = 1L;
 
 			private transient LoggerWrapper logger;
+			@CheckForNull
+			private transient volatile IBMi ibmi;
 
 			@Override
 			protected T run() throws Exception {
-				final IBMi ibmi = getContext()
+				ibmi = getContext()
 						.get(IBMiContext.class)
 						.getIBMi(getContext().get(TaskListener.class));
 
-				return runOnIBMi(getContext(), getLogger(), ibmi);
+				try {
+					return runOnIBMi(getContext(), getLogger(), ibmi);
+				} finally {
+					ibmi = null;
+				}
+			}
+
+			/**
+			 * Interrupting the step thread does not stop a request blocked on the IBM i: the request is cancelled on the
+			 * server too, so an aborted build doesn't leave it running.
+			 */
+			@Override
+			public void stop(@NonNull final Throwable cause) throws Exception {
+				final IBMi running = ibmi;
+				if (running != null) {
+					//Ending the command job may take a few seconds: not on the thread aborting the build
+					Timer.get().submit(running::cancel);
+				}
+				super.stop(cause);
 			}
 
 			private LoggerWrapper getLogger() throws IOException, InterruptedException {
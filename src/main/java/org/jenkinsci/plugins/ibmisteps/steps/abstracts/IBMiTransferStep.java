@@ -0,0 +1,112 @@
+package org.jenkinsci.plugins.ibmisteps.steps.abstracts;
+
+import com.ibm.as400.access.AS400SecurityException;
+import com.ibm.as400.access.ErrorCompletingRequestException;
+import com.ibm.as400.access.IFSFile;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.FilePath;
+import org.jenkinsci.plugins.ibmisteps.model.IBMi;
+import org.jenkinsci.plugins.ibmisteps.model.LoggerWrapper;
+import org.jenkinsci.plugins.ibmisteps.model.TransferStatistics;
+import org.jenkinsci.plugins.ibmisteps.model.TransferVerification;
+import org.jenkinsci.plugins.ibmisteps.model.TransferVerifier;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.security.MessageDigest;
+
+/**
+ * Base class of the steps moving files between the workspace and the IBM i, holding their common transfer options.
+ */
+public abstract class IBMiTransferStep<T> extends IBMiStep<T> {
+	@Serial
+	private static final long serialVersionUID = 1L;
+	/**
+	 * The largest chunk size in MB: a whole chunk is held in memory during the transfer.
+	 */
+	public static final int MAX_CHUNK_SIZE = 256;
+
+	private int chunkSize;
+	private int retries = 3;
+	private TransferVerification verify = TransferVerification.NONE;
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @param chunkSize the size of the chunks in MB, up to {@link #MAX_CHUNK_SIZE}; 0 disables chunked transfers
+	 */
+	@DataBoundSetter
+	public void setChunkSize(final int chunkSize) {
+		this.chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(0, chunkSize));
+	}
+
+	public int getRetries() {
+		return retries;
+	}
+
+	@DataBoundSetter
+	public void setRetries(final int retries) {
+		this.retries = Math.max(0, retries);
+	}
+
+	public TransferVerification getVerify() {
+		return verify;
+	}
+
+	@DataBoundSetter
+	public void setVerify(final TransferVerification verify) {
+		this.verify = verify != null ? verify : TransferVerification.NONE;
+	}
+
+	/**
+	 * @return a {@link TransferVerifier} if the transferred files must be verified, <code>null</code> otherwise
+	 */
+	@CheckForNull
+	protected TransferVerifier newVerifier() {
+		return verify == TransferVerification.SHA256 ? new TransferVerifier() : null;
+	}
+
+	/**
+	 * @return the chunk size in bytes, or 0 if chunked transfer is disabled
+	 */
+	protected int getChunkSizeBytes() {
+		return (int) Math.min(Integer.MAX_VALUE, chunkSize * 1048576L);
+	}
+
+	/**
+	 * Downloads a file, verifying it if required.
+	 *
+	 * @param chunkSize the chunk size in bytes, or 0 for a regular download
+	 */
+	protected void download(final LoggerWrapper logger, final IBMi ibmi, final IFSFile from, final FilePath to,
+	                        final int chunkSize, final TransferStatistics statistics)
+			throws IOException, AS400SecurityException, InterruptedException, ErrorCompletingRequestException {
+		final TransferVerifier verifier = newVerifier();
+		final MessageDigest digest = verifier != null ? verifier.newDigest() : null;
+		statistics.add(ibmi.download(from, to, chunkSize, getRetries(), digest));
+		if (verifier != null) {
+			verifier.record(from, digest);
+			verifier.verify(ibmi, logger);
+		}
+	}
+
+	/**
+	 * Uploads a file, verifying it if required.
+	 *
+	 * @param chunkSize the chunk size in bytes, or 0 for a regular upload
+	 */
+	protected void upload(final LoggerWrapper logger, final IBMi ibmi, final FilePath from, final IFSFile to,
+	                      final int chunkSize, final TransferStatistics statistics)
+			throws IOException, AS400SecurityException, InterruptedException, ErrorCompletingRequestException {
+		final TransferVerifier verifier = newVerifier();
+		final MessageDigest digest = verifier != null ? verifier.newDigest() : null;
+		statistics.add(ibmi.upload(from, to, -1, chunkSize, getRetries(), digest));
+		if (verifier != null) {
+			verifier.record(to, digest);
+			verifier.verify(ibmi, logger);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BackoffTests {
+
+	@Test
+	void testBackoff() throws InterruptedException {
+		final Backoff backoff = new Backoff(1, 5);
+		assertEquals(1, backoff.getInterval(), "starts with the minimum interval");
+		backoff.pause();
+		assertEquals(2, backoff.getInterval(), "doubles after a pause");
+		backoff.pause();
+		backoff.pause();
+		assertEquals(5, backoff.getInterval(), "never goes beyond the maximum interval");
+		backoff.reset();
+		assertEquals(1, backoff.getInterval(), "back to the minimum interval after a reset");
+	}
+
+	@Test
+	void testInvalidIntervals() {
+		assertEquals(10, new Backoff(10, 5).getInterval(), "the maximum is at least the minimum");
+	}
+}
@@ -0,0 +1,62 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import hudson.FilePath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BuildCacheTests {
+
+	@Test
+	void testKey(@TempDir final File workspace) throws IOException, InterruptedException {
+		final FilePath root = new FilePath(workspace);
+		root.child("src/a.rpgle").write("a", StandardCharsets.UTF_8.name());
+		root.child("src/b.rpgle").write("b", StandardCharsets.UTF_8.name());
+
+		final String key = BuildCache.key(root, "src/*.rpgle", "CRTBNDRPG", "*CURRENT");
+		assertEquals(key, BuildCache.key(root, "src/*.rpgle", "CRTBNDRPG", "*CURRENT"), "same build, same key");
+		assertNotEquals(key, BuildCache.key(root, "src/*.rpgle", "CRTBNDRPG", "V7R4M0"), "release is part of the key");
+
+		root.child("src/b.rpgle").write("c", StandardCharsets.UTF_8.name());
+		assertNotEquals(key, BuildCache.key(root, "src/*.rpgle", "CRTBNDRPG", "*CURRENT"), "sources are part of the key");
+	}
+
+	@Test
+	void testResolveRelease() {
+		assertEquals("V7R5M0", BuildCache.resolveRelease("*CURRENT", 7, 5, 0));
+		assertEquals("V7R4M0", BuildCache.resolveRelease("*PRV", 7, 5, 0));
+		assertEquals("V6R1M0", BuildCache.resolveRelease("*PRV", 7, 1, 0));
+		assertEquals("V7R3M0", BuildCache.resolveRelease("V7R3M0", 7, 5, 0), "explicit releases are kept");
+	}
+
+	@Test
+	void testEviction(@TempDir final File folder) throws IOException, InterruptedException {
+		final BuildCache cache = new BuildCache(folder, 25);
+		store(cache, "first", 10);
+		store(cache, "second", 10);
+		assertNotNull(cache.lookup("first"), "first fits in the cache");
+		new File(folder, "second.savf").setLastModified(System.currentTimeMillis() - 60000);
+		new File(folder, "first.savf").setLastModified(System.currentTimeMillis());
+
+		assertEquals(List.of("second"), store(cache, "third", 10), "least recently used entry is evicted");
+		assertNull(cache.lookup("second"));
+		assertNotNull(cache.lookup("first"));
+		assertNotNull(cache.lookup("third"));
+	}
+
+	private static List<String> store(final BuildCache cache, final String key, final int size)
+			throws IOException, InterruptedException {
+		final FilePath entry = cache.newEntry(key);
+		entry.write("x".repeat(size), StandardCharsets.UTF_8.name());
+		return cache.store(entry, key);
+	}
+}
@@ -0,0 +1,30 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CLSpooledFilehandlerTests {
+
+	@Test
+	void testBatches() {
+		assertEquals(List.of("a;b;"), CLSpooledFilehandler.batches(List.of("a;", "b;")), "short parts are joined");
+
+		//Every quote of these parts is doubled for QSH CMD
+		final List<String> parts = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			parts.add("system \"CPYSPLF FILE(QSYSPRT) SPLNBR(" + i + ") TOSTMF('/tmp/work/" + i + "')\" > /dev/null;");
+		}
+		final List<String> batches = CLSpooledFilehandler.batches(parts);
+		assertTrue(batches.size() > 1, "split into several commands");
+		for (final String batch : batches) {
+			final int escaped = batch.replace("'", "''").length();
+			assertTrue(escaped <= CLSpooledFilehandler.MAX_COMMAND_LENGTH, "escaped command too long: " + escaped);
+		}
+		assertEquals(String.join("", parts), String.join("", batches), "every part is run once, in order");
+	}
+}
@@ -0,0 +1,44 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChunkedTransferTests {
+
+	@Test
+	void testChunkLength() {
+		assertEquals(10, ChunkedTransfer.chunkLength(0, 25, 10), "a whole chunk");
+		assertEquals(10, ChunkedTransfer.chunkLength(10, 25, 10), "a whole chunk");
+		assertEquals(5, ChunkedTransfer.chunkLength(20, 25, 10), "the last chunk ends the file");
+		assertEquals(10, ChunkedTransfer.chunkLength(10, 20, 10), "a file made of whole chunks");
+	}
+
+	@Test
+	void testChunksCoverTheFile() {
+		final int chunkSize = 256 * 1048576;
+		final long size = 9L * chunkSize + 12345;
+		long transferred = 0;
+		int chunks = 0;
+		for (long position = 0; position < size; position += chunkSize) {
+			final int length = ChunkedTransfer.chunkLength(position, size, chunkSize);
+			assertEquals(transferred, position, "each chunk starts where the previous one ends");
+			transferred += length;
+			chunks++;
+		}
+		assertEquals(size, transferred, "every byte is transferred once");
+		assertEquals(10, chunks);
+		assertEquals(12345, ChunkedTransfer.chunkLength(9L * chunkSize, size, chunkSize), "the last chunk");
+	}
+
+	@Test
+	void testResumeOffsets() {
+		//ChunkedTransfer resumes from the manifest and checks its last chunk again
+		final TransferManifest manifest = new TransferManifest("/tmp/file", 25, 10);
+		manifest.addChunk(1);
+		manifest.addChunk(2);
+		manifest.addChunk(3);
+		assertEquals(ChunkedTransfer.chunkLength(manifest.getLastChunkOffset(), 25, 10),
+				manifest.getLastChunkLength(), "the checked chunk is the one that was transferred");
+	}
+}
@@ -0,0 +1,42 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.AS400;
+import com.ibm.as400.access.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class IBMiTests {
+
+	@Test
+	void testDescendants() {
+		final List<String> processes = List.of(
+				"     1      0",
+				"   100      1",
+				"   200    100",
+				"   201    100",
+				"   300    200",
+				"   400      1",
+				"");
+		assertEquals(List.of(300L, 201L, 200L), IBMi.descendants(100, processes), "the deepest processes first");
+		assertEquals(List.of(), IBMi.descendants(400, processes), "no child process");
+	}
+
+	@Test
+	void testOnConnection() {
+		//Neither system is ever connected: no request can be sent to the busy one
+		final AS400 busy = new AS400("busy");
+		final AS400 canceller = new AS400("canceller");
+		final Job commandJob = new Job(busy, "QZRCSRVS", "QUSER", "123456");
+
+		final Job job = IBMi.onConnection(canceller, commandJob);
+		assertSame(canceller, job.getSystem(), "the attributes are read through the canceller");
+		assertEquals("QZRCSRVS", job.getName());
+		assertEquals("QUSER", job.getUser());
+		assertEquals("123456", job.getNumber());
+		assertSame(busy, commandJob.getSystem(), "the command job is left alone");
+	}
+}
@@ -0,0 +1,27 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IFSTreeWalkerTests {
+
+	@Test
+	void testRelativize() {
+		assertEquals("src/a.rpgle", IFSTreeWalker.relativize("/home/build", "/home/build/src/a.rpgle"));
+		assertEquals("src/a.rpgle", IFSTreeWalker.relativize("/home/build/", "/home/build/src/a.rpgle"),
+				"trailing slash on the root");
+		assertEquals("src", IFSTreeWalker.relativize("/home/build", "/home/build/src/"), "trailing slash on the path");
+		assertEquals("src/a.rpgle", IFSTreeWalker.relativize("/HOME/Build", "/home/build/src/a.rpgle"),
+				"case differences");
+		assertEquals("home/build", IFSTreeWalker.relativize("/", "/home/build"), "IFS root");
+		assertEquals("", IFSTreeWalker.relativize("/home/build/", "/home/build"), "the root itself");
+	}
+
+	@Test
+	void testOutsideRoot() {
+		assertNull(IFSTreeWalker.relativize("/home/build", "/home/other/a.rpgle"));
+		assertNull(IFSTreeWalker.relativize("/home/build", "/home/builds/a.rpgle"), "a sibling sharing a prefix");
+	}
+}
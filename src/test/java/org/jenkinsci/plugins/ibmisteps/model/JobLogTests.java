@@ -0,0 +1,34 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobLogTests {
+
+	@Test
+	void testRingBuffer() {
+		final JobLog jobLog = new JobLog(new IBMiJob("123456", "QUSER", "TEST"), 3);
+		assertTrue(jobLog.getMessages().isEmpty(), "no message read yet");
+
+		jobLog.add(message(1));
+		jobLog.add(message(2));
+		assertEquals(List.of(1L, 2L), positions(jobLog), "keeps the messages until the buffer is full");
+
+		jobLog.add(message(3));
+		jobLog.add(message(4));
+		jobLog.add(message(5));
+		assertEquals(List.of(3L, 4L, 5L), positions(jobLog), "only keeps the latest messages, oldest first");
+	}
+
+	private static JobLogMessage message(final long position) {
+		return new JobLogMessage(position, "CPF9898", "INFORMATIONAL", 0, null, "Message " + position);
+	}
+
+	private static List<Long> positions(final JobLog jobLog) {
+		return jobLog.getMessages().stream().map(JobLogMessage::getPosition).toList();
+	}
+}
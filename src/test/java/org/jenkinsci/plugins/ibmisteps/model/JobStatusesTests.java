@@ -0,0 +1,37 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobStatusesTests {
+
+	@Test
+	void testUnion() {
+		final List<IBMiJob> jobs = List.of(new IBMiJob("123456", "USER", "JOB"),
+				new IBMiJob("654321", "OTHER", "BUILD"));
+
+		final String statuses = JobStatuses.union(jobs, JobStatuses.JOB_STATUS, false);
+		final String[] queries = statuses.split(" Union All ");
+		assertEquals(2, queries.length, "one query per job");
+		assertTrue(queries[0].startsWith("Select 0 As JOB_INDEX"), "the first job is at index 0");
+		assertTrue(queries[0].contains("GET_JOB_INFO('123456/USER/JOB'"), queries[0]);
+		assertTrue(queries[1].startsWith("Select 1 As JOB_INDEX"), "the second job is at index 1");
+		assertTrue(queries[1].contains("GET_JOB_INFO('654321/OTHER/BUILD'"), queries[1]);
+
+		final String completions = JobStatuses.union(jobs, JobStatuses.JOB_END, true);
+		assertTrue(completions.contains("JOB_USER_FILTER => 'OTHER')) Where JOB_NAME = '654321/OTHER/BUILD'"),
+				completions);
+	}
+
+	@Test
+	void testSingleJob() {
+		final String query = JobStatuses.union(List.of(new IBMiJob("123456", "USER", "JOB")),
+				JobStatuses.JOB_STATUS, false);
+		assertFalse(query.contains("Union"), "no union for a single job");
+	}
+}
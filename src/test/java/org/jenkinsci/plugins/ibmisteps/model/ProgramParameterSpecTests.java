@@ -0,0 +1,63 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.CharConverter;
+import hudson.AbortException;
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProgramParameterSpecTests {
+
+	@Test
+	void testChar() throws UnsupportedEncodingException, AbortException {
+		final CharConverter converter = new CharConverter(37);
+		final ProgramParameterSpec spec = parameter(ProgramParameterType.CHAR, 5, 0, "AB");
+		final byte[] bytes = spec.toBytes(converter);
+		assertArrayEquals(new byte[]{(byte) 0xC1, (byte) 0xC2, 0x40, 0x40, 0x40}, bytes, "padded with EBCDIC blanks");
+		assertEquals("AB", spec.fromBytes(bytes, converter), "trailing blanks are removed");
+
+		assertThrows(AbortException.class, () -> parameter(ProgramParameterType.CHAR, 1, 0, "AB").toBytes(converter),
+				"a value longer than the parameter is refused");
+	}
+
+	@Test
+	void testDecimals() throws UnsupportedEncodingException, AbortException {
+		final CharConverter converter = new CharConverter(37);
+		final ProgramParameterSpec packed = parameter(ProgramParameterType.PACKED, 5, 2, "-123.45");
+		final byte[] bytes = packed.toBytes(converter);
+		assertArrayEquals(new byte[]{0x12, 0x34, 0x5D}, bytes, "packed on 3 bytes");
+		assertEquals(new BigDecimal("-123.45"), packed.fromBytes(bytes, converter));
+
+		final ProgramParameterSpec zoned = parameter(ProgramParameterType.ZONED, 3, 0, "42");
+		assertEquals(new BigDecimal("42"), zoned.fromBytes(zoned.toBytes(converter), converter));
+	}
+
+	@Test
+	void testInt() throws UnsupportedEncodingException, AbortException {
+		final CharConverter converter = new CharConverter(37);
+		final ProgramParameterSpec bin4 = parameter(ProgramParameterType.INT, 4, 0, "-2");
+		final byte[] bytes = bin4.toBytes(converter);
+		assertArrayEquals(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFE}, bytes);
+		assertEquals(-2L, bin4.fromBytes(bytes, converter));
+
+		assertThrows(AbortException.class, () -> parameter(ProgramParameterType.INT, 2, 0, "70000").toBytes(converter),
+				"a value too large for the parameter is refused");
+		assertThrows(AbortException.class, () -> parameter(ProgramParameterType.INT, 3, 0, "1").toBytes(converter),
+				"only 2, 4 and 8 bytes integers exist");
+		assertThrows(AbortException.class, () -> parameter(ProgramParameterType.INT, 4, 0, "X").toBytes(converter),
+				"not a number");
+	}
+
+	private static ProgramParameterSpec parameter(final ProgramParameterType type, final int length,
+	                                              final int decimals, final String value) {
+		final ProgramParameterSpec spec = new ProgramParameterSpec(type, length);
+		spec.setDecimals(decimals);
+		spec.setValue(value);
+		return spec;
+	}
+}
@@ -0,0 +1,37 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import hudson.FilePath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaveFileDigestTests {
+
+	@Test
+	void testDigest(@TempDir final File folder) throws IOException, InterruptedException {
+		final FilePath file = new FilePath(folder).child("test.savf");
+		file.write("content", StandardCharsets.UTF_8.name());
+
+		final String digest = SaveFileDigest.of(file);
+		assertTrue(digest.length() <= 50, "fits in the 50 characters of an object text");
+		assertTrue(SaveFileDigest.isDigest(digest), "recognized as a digest");
+		assertEquals(digest, SaveFileDigest.of(file), "same content, same digest");
+
+		file.write("other content", StandardCharsets.UTF_8.name());
+		assertNotEquals(digest, SaveFileDigest.of(file), "the digest changes with the content");
+	}
+
+	@Test
+	void testIsDigest() {
+		assertFalse(SaveFileDigest.isDigest(null));
+		assertFalse(SaveFileDigest.isDigest("Save file created by a developer"));
+	}
+}
@@ -0,0 +1,70 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.jenkinsci.plugins.ibmisteps.model.SpooledFiles.SpooledFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpooledFileFilterTests {
+
+	@Test
+	void testDefaultFilter() {
+		final SpooledFileFilter filter = SpooledFileFilter.ready();
+		assertEquals(List.of("*READY"), filter.getStatuses(), "ready spooled files by default");
+		assertEquals("", filter.toSQLConditions(), "no condition by default");
+		assertTrue(filter.accept(spooledFile("QPJOBLOG", 0)), "every spooled file is accepted");
+	}
+
+	@Test
+	void testFilter() {
+		final SpooledFileFilter filter = new SpooledFileFilter("qsysprt, QPJOB*", "O'NEIL", 10, 100, "*ready *held");
+		assertEquals(List.of("*READY", "*HELD"), filter.getStatuses());
+		assertEquals("'*READY *HELD'", filter.toSQLStatus());
+		assertEquals(" And (SPOOLED_FILE_NAME = 'QSYSPRT' Or SPOOLED_FILE_NAME Like 'QPJOB%')" +
+				" And USER_DATA = 'O''NEIL' And SIZE * 1024 >= 10 And SIZE * 1024 <= 100", filter.toSQLConditions());
+
+		assertTrue(filter.accept(spooledFile("QSYSPRT", 50)), "exact name");
+		assertTrue(filter.accept(spooledFile("QPJOBLOG", 50)), "generic name");
+		assertFalse(filter.accept(spooledFile("QPRINT", 50)), "other name");
+		assertFalse(filter.accept(spooledFile("QSYSPRT", 5)), "too small");
+		assertFalse(filter.accept(spooledFile("QSYSPRT", 500)), "too big");
+	}
+
+	@Test
+	void testSizeUnits() {
+		//QSYS2.SPOOLED_FILE_INFO gives sizes in kilobytes, the open list in bytes: both must select the same files
+		final SpooledFileFilter filter = new SpooledFileFilter(null, null, 4096, 10240, null);
+		for (long kilobytes = 0; kilobytes <= 20; kilobytes++) {
+			assertEquals(filter.accept(spooledFile("QSYSPRT", kilobytes * 1024)),
+					sqlAccepts(filter.toSQLConditions(), kilobytes),
+					"same selection for " + kilobytes + " KB");
+		}
+		assertTrue(filter.accept(spooledFile("QSYSPRT", 4096)), "sizes are in bytes");
+		assertFalse(filter.accept(spooledFile("QSYSPRT", 4)), "sizes are in bytes");
+	}
+
+	/**
+	 * Evaluates the size conditions of a filter on the <code>SIZE</code> column of <code>QSYS2.SPOOLED_FILE_INFO</code>.
+	 */
+	private static boolean sqlAccepts(final String conditions, final long size) {
+		final Matcher matcher = Pattern.compile(" And " + Pattern.quote(SpooledFileFilter.SQL_SIZE) + " (>=|<=) (\\d+)")
+				.matcher(conditions);
+		boolean accepted = true;
+		while (matcher.find()) {
+			final long bytes = size * 1024;
+			final long limit = Long.parseLong(matcher.group(2));
+			accepted &= matcher.group(1).equals(">=") ? bytes >= limit : bytes <= limit;
+		}
+		return accepted;
+	}
+
+	private static SpooledFile spooledFile(final String name, final long size) {
+		return new SpooledFile(name, 1, size, "", "JOB", "USER", "123456");
+	}
+}
@@ -0,0 +1,41 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import com.ibm.as400.access.CharConverter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextDecoderTests {
+
+	@Test
+	void testDecodeInChunks() throws IOException, InterruptedException {
+		final CharConverter converter = new CharConverter(37);
+		final StringBuilder text = new StringBuilder();
+		for (int line = 0; line < 500; line++) {
+			text.append("Line ").append(line).append(": éàü\n");
+		}
+		text.append("No line end");
+		final byte[] ebcdic = converter.stringToByteArray(text.toString());
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final long read = new TextDecoder(converter, 64).decode(new ByteArrayInputStream(ebcdic), output, null);
+		assertEquals(ebcdic.length, read, "every byte is read");
+		assertEquals(text.toString(), output.toString(StandardCharsets.UTF_8), "chunks are written in order");
+	}
+
+	@Test
+	void testCut() throws IOException {
+		final CharConverter converter = new CharConverter(37);
+		final TextDecoder decoder = new TextDecoder(converter, 64);
+		final byte[] bytes = converter.stringToByteArray("ab\ncd\nef");
+		assertEquals(6, decoder.cut(bytes, bytes.length), "cut after the last line end");
+
+		final byte[] noLineEnd = converter.stringToByteArray("abcdef");
+		assertEquals(6, decoder.cut(noLineEnd, noLineEnd.length), "whole buffer without line end");
+	}
+}
@@ -0,0 +1,19 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferEngineTests {
+
+	@Test
+	void testConvertibleCCSIDs() {
+		assertTrue(TransferEngine.isConvertible(37), "EBCDIC is converted");
+		assertTrue(TransferEngine.isConvertible(819), "ASCII is converted");
+		assertTrue(TransferEngine.isConvertible(1200), "UTF-16 is converted");
+		assertFalse(TransferEngine.isConvertible(65535), "binary or untagged files are downloaded as they are");
+		assertFalse(TransferEngine.isConvertible(0), "files with an unknown CCSID are downloaded as they are");
+		assertFalse(TransferEngine.isConvertible(1208), "UTF-8 files are downloaded as they are");
+	}
+}
@@ -0,0 +1,48 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferFilterTests {
+
+	@Test
+	void testEmptyFilter() {
+		final TransferFilter filter = new TransferFilter(null, " ");
+		assertTrue(filter.isEmpty(), "no pattern means empty filter");
+		assertTrue(filter.acceptFile("any/file.txt"), "empty filter accepts every file");
+		assertTrue(filter.acceptFolder("any"), "empty filter accepts every folder");
+	}
+
+	@Test
+	void testIncludes() {
+		final TransferFilter filter = new TransferFilter("**/*.rpgle, *.lst", null);
+		assertTrue(filter.acceptFile("pgm.rpgle"), "** matches zero folder");
+		assertTrue(filter.acceptFile("src/qrpglesrc/pgm.rpgle"), "** matches many folders");
+		assertTrue(filter.acceptFile("compile.lst"), "* matches root files");
+		assertFalse(filter.acceptFile("listings/compile.lst"), "* does not match folders");
+		assertFalse(filter.acceptFile("src/pgm.sqlrpgle"), "extension must match");
+		assertTrue(filter.acceptFolder("src"), "** can match in any folder");
+	}
+
+	@Test
+	void testFolderPruning() {
+		final TransferFilter filter = new TransferFilter("src/qrpglesrc/*.rpgle", "build/**,**/tmp/");
+		assertTrue(filter.acceptFolder("src"), "src is a parent of the include pattern");
+		assertTrue(filter.acceptFolder("src/qrpglesrc"), "src/qrpglesrc is the include pattern folder");
+		assertFalse(filter.acceptFolder("docs"), "docs can't hold any included file");
+		assertFalse(filter.acceptFolder("build"), "build is excluded");
+		assertFalse(filter.acceptFolder("src/qrpglesrc/tmp"), "tmp folders are excluded");
+		assertTrue(filter.acceptFile("src/qrpglesrc/pgm.rpgle"), "file is included");
+		assertFalse(filter.acceptFile("src/qrpglesrc/tmp/pgm.rpgle"), "file is excluded");
+	}
+
+	@Test
+	void testExcludesOnly() {
+		final TransferFilter filter = new TransferFilter("", "**/*.lst");
+		assertTrue(filter.acceptFolder("listings"), "file pattern does not exclude folders");
+		assertFalse(filter.acceptFile("listings/compile.lst"), "file is excluded");
+		assertTrue(filter.acceptFile("listings/compile.txt"), "file is not excluded");
+	}
+}
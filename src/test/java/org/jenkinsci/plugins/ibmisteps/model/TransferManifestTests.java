@@ -0,0 +1,75 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import hudson.FilePath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransferManifestTests {
+
+	@Test
+	void testOffsets() {
+		final TransferManifest manifest = new TransferManifest("/tmp/file", 25, 10);
+		assertEquals(0, manifest.getTransferredBytes(), "nothing transferred yet");
+		assertEquals(0, manifest.getLastChunkOffset(), "no chunk yet");
+
+		manifest.addChunk(1);
+		manifest.addChunk(2);
+		assertEquals(20, manifest.getTransferredBytes(), "two whole chunks");
+		assertEquals(10, manifest.getLastChunkOffset(), "the second chunk starts after the first one");
+		assertEquals(10, manifest.getLastChunkLength(), "a whole chunk");
+		assertEquals(2, manifest.getLastChecksum());
+
+		manifest.addChunk(3);
+		assertEquals(25, manifest.getTransferredBytes(), "never more than the file size");
+		assertEquals(20, manifest.getLastChunkOffset());
+		assertEquals(5, manifest.getLastChunkLength(), "the last chunk ends the file");
+
+		manifest.reset();
+		assertEquals(0, manifest.getTransferredBytes(), "started over");
+	}
+
+	@Test
+	void testLargeOffsets() {
+		final int chunkSize = 256 * 1048576;
+		final TransferManifest manifest = new TransferManifest("/tmp/file", 10L * chunkSize + 1, chunkSize);
+		for (int i = 0; i < 10; i++) {
+			manifest.addChunk(i);
+		}
+		assertEquals(10L * chunkSize, manifest.getTransferredBytes(), "no int overflow past 2 GB");
+		assertEquals(9L * chunkSize, manifest.getLastChunkOffset(), "no int overflow past 2 GB");
+	}
+
+	@Test
+	void testLoad(@TempDir final File folder) throws IOException, InterruptedException {
+		final FilePath localFile = new FilePath(folder).child("file.savf");
+		final FilePath manifestFile = TransferManifest.manifestOf(localFile);
+		assertEquals(".file.savf.ibmi-transfer", manifestFile.getName(), "hidden next to the local file");
+
+		final TransferManifest manifest = new TransferManifest("/tmp/file", 25, 10);
+		manifest.addChunk(1);
+		manifest.addChunk(2);
+		manifest.save(manifestFile);
+
+		final TransferManifest loaded = TransferManifest.load(manifestFile, "/tmp/file", 25, 10);
+		assertEquals(List.of(1L, 2L), loaded.getChecksums(), "resumed from the saved chunks");
+		assertEquals(20, loaded.getTransferredBytes());
+
+		assertEquals(0, TransferManifest.load(manifestFile, "/tmp/other", 25, 10).getTransferredBytes(),
+				"another target starts over");
+		assertEquals(0, TransferManifest.load(manifestFile, "/tmp/file", 26, 10).getTransferredBytes(),
+				"another size starts over");
+		assertEquals(0, TransferManifest.load(manifestFile, "/tmp/file", 25, 5).getTransferredBytes(),
+				"another chunk size starts over");
+
+		manifestFile.write("not a manifest", StandardCharsets.UTF_8.name());
+		assertEquals(0, TransferManifest.load(manifestFile, "/tmp/file", 25, 10).getTransferredBytes(),
+				"an unreadable manifest starts over");
+	}
+}
@@ -0,0 +1,33 @@
+package org.jenkinsci.plugins.ibmisteps.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferVerifierTests {
+
+	@Test
+	void testCommands() {
+		assertEquals(List.of("cd '/home/dir' && " + TransferVerifier.SHA256SUM + " 'a.txt' 'b.txt'"),
+				TransferVerifier.commands("/home/dir", List.of("a.txt", "b.txt")));
+
+		//Every quote of these names is doubled for QSH CMD
+		final List<String> names = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			names.add("it's file " + i);
+		}
+		final List<String> commands = TransferVerifier.commands("/home/dir", names);
+		assertTrue(commands.size() > 1, "split into several commands");
+		int files = 0;
+		for (final String command : commands) {
+			final int escaped = command.replace("'", "''").length();
+			assertTrue(escaped <= TransferVerifier.MAX_COMMAND_LENGTH, "escaped command too long: " + escaped);
+			files += command.split(" 'it").length - 1;
+		}
+		assertEquals(names.size(), files, "every file is in a command");
+	}
+}